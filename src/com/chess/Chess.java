@@ -1,12 +1,22 @@
 package com.chess;
 
+import java.awt.GraphicsEnvironment;
+
 import com.chess.engine.board.Board;
 import com.chess.gui.*;
+import com.chess.uci.UciEngine;
 
 public class Chess {
 	
 	public static void main (String[] args) {
 		
+		//With -uci, or where there is no display, the engine talks UCI on standard input and output instead of
+		//opening the GUI
+		if ((args.length > 0 && args[0].equals("-uci")) || GraphicsEnvironment.isHeadless()) {
+			new UciEngine(System.in, System.out).run();
+			return;
+		}
+		
 		Board board = Board.createInitialBoard();
 		
 		System.out.println(board);
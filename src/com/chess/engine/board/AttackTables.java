@@ -0,0 +1,196 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+
+//Attack tables built once when the class loads, so that move generation never has to test whether a step wraps
+//around the edge of the board. For every tile there is a knight, king and pawn attack mask (bit n set for tile n)
+//with the same tiles as an int array, and for every direction the list of tiles a sliding piece passes along
+//moving away from it, nearest first
+public final class AttackTables {
+
+	//Directions index the ray tables
+	public static final int NORTH = 0;
+	public static final int SOUTH = 1;
+	public static final int EAST = 2;
+	public static final int WEST = 3;
+	public static final int NORTH_EAST = 4;
+	public static final int NORTH_WEST = 5;
+	public static final int SOUTH_EAST = 6;
+	public static final int SOUTH_WEST = 7;
+	public static final int NUM_DIRECTIONS = 8;
+
+	public static final int[] ROOK_DIRECTIONS = { NORTH, SOUTH, EAST, WEST };
+	public static final int[] BISHOP_DIRECTIONS = { NORTH_EAST, NORTH_WEST, SOUTH_EAST, SOUTH_WEST };
+	public static final int[] QUEEN_DIRECTIONS = { NORTH, SOUTH, EAST, WEST, NORTH_EAST, NORTH_WEST, SOUTH_EAST, SOUTH_WEST };
+
+	//Column and row steps of each direction. Row 0 is the 8th rank, so north is a row step of -1
+	private static final int[] DIRECTION_COLUMN_STEPS = { 0, 0, 1, -1, 1, -1, 1, -1 };
+	private static final int[] DIRECTION_ROW_STEPS = { -1, 1, 0, 0, -1, -1, 1, 1 };
+	private static final int[] OPPOSITE_DIRECTIONS = { SOUTH, NORTH, WEST, EAST, SOUTH_WEST, SOUTH_EAST, NORTH_WEST, NORTH_EAST };
+
+	private static final int[][] KNIGHT_STEPS = { { -2, -1 }, { -2, 1 }, { -1, -2 }, { -1, 2 }, { 1, -2 }, { 1, 2 }, { 2, -1 }, { 2, 1 } };
+	private static final int[][] KING_STEPS = { { -1, -1 }, { 0, -1 }, { 1, -1 }, { -1, 0 }, { 1, 0 }, { -1, 1 }, { 0, 1 }, { 1, 1 } };
+
+	private static final long[] KNIGHT_ATTACKS = new long[BoardUtilities.NUM_TILES];
+	private static final long[] KING_ATTACKS = new long[BoardUtilities.NUM_TILES];
+	//Indexed by Alliance ordinal, then tile
+	private static final long[][] PAWN_ATTACKS = new long[2][BoardUtilities.NUM_TILES];
+	private static final int[][] KNIGHT_TARGETS = new int[BoardUtilities.NUM_TILES][];
+	private static final int[][] KING_TARGETS = new int[BoardUtilities.NUM_TILES][];
+	private static final int[][][] PAWN_ATTACK_TARGETS = new int[2][BoardUtilities.NUM_TILES][];
+	//Indexed by direction, then tile
+	private static final int[][][] RAYS = new int[NUM_DIRECTIONS][BoardUtilities.NUM_TILES][];
+	private static final long[][] RAY_MASKS = new long[NUM_DIRECTIONS][BoardUtilities.NUM_TILES];
+	//Indexed by both tiles, empty unless they share a row, column or diagonal
+	private static final long[][] BETWEEN = new long[BoardUtilities.NUM_TILES][BoardUtilities.NUM_TILES];
+	private static final long[][] LINES = new long[BoardUtilities.NUM_TILES][BoardUtilities.NUM_TILES];
+
+	static {
+		for (int tile = 0; tile < BoardUtilities.NUM_TILES; tile++) {
+			KNIGHT_ATTACKS[tile] = stepMask(tile, KNIGHT_STEPS);
+			KING_ATTACKS[tile] = stepMask(tile, KING_STEPS);
+			//White pawns move towards row 0 and black pawns towards row 7
+			PAWN_ATTACKS[Alliance.WHITE.ordinal()][tile] = stepMask(tile, new int[][] { { -1, -1 }, { 1, -1 } });
+			PAWN_ATTACKS[Alliance.BLACK.ordinal()][tile] = stepMask(tile, new int[][] { { -1, 1 }, { 1, 1 } });
+			KNIGHT_TARGETS[tile] = toTiles(KNIGHT_ATTACKS[tile]);
+			KING_TARGETS[tile] = toTiles(KING_ATTACKS[tile]);
+			PAWN_ATTACK_TARGETS[Alliance.WHITE.ordinal()][tile] = toTiles(PAWN_ATTACKS[Alliance.WHITE.ordinal()][tile]);
+			PAWN_ATTACK_TARGETS[Alliance.BLACK.ordinal()][tile] = toTiles(PAWN_ATTACKS[Alliance.BLACK.ordinal()][tile]);
+			for (int direction = 0; direction < NUM_DIRECTIONS; direction++) {
+				RAYS[direction][tile] = createRay(tile, direction);
+				for (final int rayTile : RAYS[direction][tile]) {
+					RAY_MASKS[direction][tile] |= BitBoard.squareMask(rayTile);
+				}
+			}
+		}
+		//Rays of every tile are complete before lines through them are put together
+		for (int tile = 0; tile < BoardUtilities.NUM_TILES; tile++) {
+			for (int direction = 0; direction < NUM_DIRECTIONS; direction++) {
+				final long line = RAY_MASKS[direction][tile] | RAY_MASKS[OPPOSITE_DIRECTIONS[direction]][tile] | BitBoard.squareMask(tile);
+				long between = 0L;
+				for (final int rayTile : RAYS[direction][tile]) {
+					BETWEEN[tile][rayTile] = between;
+					LINES[tile][rayTile] = line;
+					between |= BitBoard.squareMask(rayTile);
+				}
+			}
+		}
+	}
+
+	private AttackTables() {
+		throw new RuntimeException("Cannot instantiate object of type AttackTables");
+	}
+
+	public static long knightAttacks(final int tile) {
+		return KNIGHT_ATTACKS[tile];
+	}
+
+	public static long kingAttacks(final int tile) {
+		return KING_ATTACKS[tile];
+	}
+
+	//The tiles a pawn of the given alliance attacks from tile
+	public static long pawnAttacks(final Alliance alliance, final int tile) {
+		return PAWN_ATTACKS[alliance.ordinal()][tile];
+	}
+
+	static long pawnAttacks(final int side, final int tile) {
+		return PAWN_ATTACKS[side][tile];
+	}
+
+	public static int[] knightTargets(final int tile) {
+		return KNIGHT_TARGETS[tile];
+	}
+
+	public static int[] kingTargets(final int tile) {
+		return KING_TARGETS[tile];
+	}
+
+	public static int[] pawnAttackTargets(final Alliance alliance, final int tile) {
+		return PAWN_ATTACK_TARGETS[alliance.ordinal()][tile];
+	}
+
+	//The tiles from tile to the edge of the board in a direction, nearest first
+	public static int[] ray(final int direction, final int tile) {
+		return RAYS[direction][tile];
+	}
+
+	public static long rayMask(final int direction, final int tile) {
+		return RAY_MASKS[direction][tile];
+	}
+
+	//The tiles strictly between two tiles on a shared row, column or diagonal, or nothing if they are not aligned
+	public static long between(final int tile, final int otherTile) {
+		return BETWEEN[tile][otherTile];
+	}
+
+	//The whole row, column or diagonal through both tiles, edge to edge, or nothing if they are not aligned
+	public static long line(final int tile, final int otherTile) {
+		return LINES[tile][otherTile];
+	}
+
+	//The tiles a slider on tile attacks in one direction: the ray up to and including the first occupied tile
+	public static long slidingAttacks(final int direction, final int tile, final long occupancy) {
+		final long ray = RAY_MASKS[direction][tile];
+		final long blockers = ray & occupancy;
+		if (blockers == 0) {
+			return ray;
+		}
+		//Tile numbers increase going south and east, so the nearest blocker is the lowest bit for those directions
+		final int blocker = isIncreasing(direction) ? BitBoard.lowestSquare(blockers) : 63 - Long.numberOfLeadingZeros(blockers);
+		return ray & ~RAY_MASKS[direction][blocker];
+	}
+
+	//Rook and bishop attacks are magic bitboard lookups
+	public static long rookAttacks(final int tile, final long occupancy) {
+		return MagicBitboards.rookAttacks(tile, occupancy);
+	}
+
+	public static long bishopAttacks(final int tile, final long occupancy) {
+		return MagicBitboards.bishopAttacks(tile, occupancy);
+	}
+
+	public static long queenAttacks(final int tile, final long occupancy) {
+		return rookAttacks(tile, occupancy) | bishopAttacks(tile, occupancy);
+	}
+
+	private static boolean isIncreasing(final int direction) {
+		return direction == SOUTH || direction == EAST || direction == SOUTH_EAST || direction == SOUTH_WEST;
+	}
+
+	private static long stepMask(final int tile, final int[][] steps) {
+		long mask = 0L;
+		for (final int[] step : steps) {
+			final int column = (tile & 7) + step[0];
+			final int row = (tile >>> 3) + step[1];
+			if (column >= 0 && column < 8 && row >= 0 && row < 8) {
+				mask |= BitBoard.squareMask(row * 8 + column);
+			}
+		}
+		return mask;
+	}
+
+	private static int[] createRay(final int tile, final int direction) {
+		final int[] ray = new int[7];
+		int length = 0;
+		int column = (tile & 7) + DIRECTION_COLUMN_STEPS[direction];
+		int row = (tile >>> 3) + DIRECTION_ROW_STEPS[direction];
+		while (column >= 0 && column < 8 && row >= 0 && row < 8) {
+			ray[length++] = row * 8 + column;
+			column += DIRECTION_COLUMN_STEPS[direction];
+			row += DIRECTION_ROW_STEPS[direction];
+		}
+		final int[] trimmedRay = new int[length];
+		System.arraycopy(ray, 0, trimmedRay, 0, length);
+		return trimmedRay;
+	}
+
+	private static int[] toTiles(long mask) {
+		final int[] tiles = new int[Long.bitCount(mask)];
+		for (int i = 0; mask != 0; i++) {
+			tiles[i] = BitBoard.lowestSquare(mask);
+			mask &= mask - 1;
+		}
+		return tiles;
+	}
+}
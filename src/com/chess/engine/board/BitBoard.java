@@ -0,0 +1,129 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+
+//A BitBoard stores a position as one long per piece type and alliance plus occupancy masks.
+//Bit n of each long represents the tile with coordinate n (0 = a8, 63 = h1)
+public final class BitBoard {
+
+	public static final int NUM_PIECE_TYPES = 6;
+	public static final int NUM_PIECE_INDICES = 12;
+	public static final int NO_PIECE = -1;
+	public static final long EMPTY = 0L;
+
+	private final long[] pieceBitboards;
+	private final long whiteOccupancy;
+	private final long blackOccupancy;
+	private final long occupancy;
+
+	BitBoard(final Piece[] boardConfiguration) {
+		this.pieceBitboards = new long[NUM_PIECE_INDICES];
+		long white = EMPTY;
+		long black = EMPTY;
+		for (int i = 0; i < BoardUtilities.NUM_TILES; i++) {
+			final Piece piece = boardConfiguration[i];
+			if (piece != null) {
+				final long mask = squareMask(i);
+				this.pieceBitboards[pieceIndex(piece)] |= mask;
+				if (piece.getPieceAlliance().isWhite()) {
+					white |= mask;
+				} else {
+					black |= mask;
+				}
+			}
+		}
+		this.whiteOccupancy = white;
+		this.blackOccupancy = black;
+		this.occupancy = white | black;
+	}
+
+	public long getPieces(final Alliance alliance, final PieceType pieceType) {
+		return this.pieceBitboards[pieceIndex(alliance, pieceType)];
+	}
+
+	public long getPieces(final int pieceIndex) {
+		return this.pieceBitboards[pieceIndex];
+	}
+
+	//The array itself, for LegalityMasks, which only reads it
+	long[] getPieceBitboards() {
+		return this.pieceBitboards;
+	}
+
+	public long getOccupancy(final Alliance alliance) {
+		return alliance.isWhite() ? this.whiteOccupancy : this.blackOccupancy;
+	}
+
+	public long getOccupancy() {
+		return this.occupancy;
+	}
+
+	public boolean isOccupied(final int coordinate) {
+		return (this.occupancy & squareMask(coordinate)) != 0;
+	}
+
+	//Returns the piece index on the given tile, or NO_PIECE if the tile is empty
+	public int getPieceIndex(final int coordinate) {
+		final long mask = squareMask(coordinate);
+		if ((this.occupancy & mask) == 0) {
+			return NO_PIECE;
+		}
+		for (int i = 0; i < NUM_PIECE_INDICES; i++) {
+			if ((this.pieceBitboards[i] & mask) != 0) {
+				return i;
+			}
+		}
+		return NO_PIECE;
+	}
+
+	//Probes outward from the tile with the attack tables: a piece of byAlliance attacks it exactly when the same kind of
+	//piece standing on the tile would attack that piece. No moves are generated
+	public boolean isSquareAttacked(final int coordinate, final Alliance byAlliance) {
+		final int side = byAlliance.ordinal();
+		if ((AttackTables.pawnAttacks(side ^ 1, coordinate) & this.pieceBitboards[pieceIndex(byAlliance, PieceType.PAWN)]) != 0
+				|| (AttackTables.knightAttacks(coordinate) & this.pieceBitboards[pieceIndex(byAlliance, PieceType.KNIGHT)]) != 0
+				|| (AttackTables.kingAttacks(coordinate) & this.pieceBitboards[pieceIndex(byAlliance, PieceType.KING)]) != 0) {
+			return true;
+		}
+		final long queens = this.pieceBitboards[pieceIndex(byAlliance, PieceType.QUEEN)];
+		final long rooks = this.pieceBitboards[pieceIndex(byAlliance, PieceType.ROOK)] | queens;
+		final long bishops = this.pieceBitboards[pieceIndex(byAlliance, PieceType.BISHOP)] | queens;
+		return (rooks != 0 && (AttackTables.rookAttacks(coordinate, this.occupancy) & rooks) != 0)
+				|| (bishops != 0 && (AttackTables.bishopAttacks(coordinate, this.occupancy) & bishops) != 0);
+	}
+
+	//Piece indices 0-5 are white pawn to king, 6-11 are black pawn to king
+	public static int pieceIndex(final Alliance alliance, final PieceType pieceType) {
+		return alliance.ordinal() * NUM_PIECE_TYPES + pieceType.ordinal();
+	}
+
+	public static int pieceIndex(final Piece piece) {
+		return pieceIndex(piece.getPieceAlliance(), piece.getPieceType());
+	}
+
+	public static long squareMask(final int coordinate) {
+		return 1L << coordinate;
+	}
+
+	public static int lowestSquare(final long bitboard) {
+		return Long.numberOfTrailingZeros(bitboard);
+	}
+
+	public static int bitCount(final long bitboard) {
+		return Long.bitCount(bitboard);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < BoardUtilities.NUM_TILES; i++) {
+			builder.append(isOccupied(i) ? '1' : '.');
+			if ((i + 1) % 8 == 0) {
+				builder.append('\n');
+			}
+		}
+		return builder.toString();
+	}
+}
@@ -1,6 +1,5 @@
 package com.chess.engine.board;
 
-import java.util.Map;
 import com.chess.engine.pieces.*;
 import com.chess.engine.player.*;
 import com.chess.engine.Alliance;
@@ -8,36 +7,40 @@ import java.util.Collections;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
 
 public class Board {
 	
-	private final List<Tile> gameBoard; //The board is represented as an ArrayList of Tiles
+	private final Piece[] boardConfiguration; //The board is represented as an array of 64 pieces (null for empty tiles)
+	private final BitBoard bitBoard;	//Bitboards of the same position used for fast occupancy and attack queries
 	private final Collection<Piece> whitePieces;
 	private final Collection<Piece> blackPieces;
 	private final Pawn enPassantPawn;	//Each board tracks whether there is a pawn who PawnJumped last move
-	private final WhitePlayer whitePlayer;
-	private final BlackPlayer blackPlayer;
-	private final Player currentPlayer;
+	private final int castlingRights;
+	private final long zobristKey;
+	private final Alliance nextMoveMaker;
+	//Created on first use, see whitePlayer()
+	private volatile WhitePlayer whitePlayer;
+	private volatile BlackPlayer blackPlayer;
+	//Created on first use, see getMoveIndex()
+	private volatile MoveIndex moveIndex;
 
 	private Board(final Builder builder) {
-		this.gameBoard = createGameBoard(builder);
-		this.whitePieces = calculateActivePieces(this.gameBoard, Alliance.WHITE);
-		this.blackPieces = calculateActivePieces(this.gameBoard, Alliance.BLACK);
+		this.boardConfiguration = builder.boardConfiguration.clone();
+		this.bitBoard = new BitBoard(this.boardConfiguration);
+		this.whitePieces = calculateActivePieces(this.boardConfiguration, Alliance.WHITE);
+		this.blackPieces = calculateActivePieces(this.boardConfiguration, Alliance.BLACK);
 		this.enPassantPawn = builder.enPassantPawn;
-		final Collection<Move> whiteLegalMoves = calculateLegalMoves(this.whitePieces);
-		final Collection<Move> blackLegalMoves = calculateLegalMoves(this.blackPieces);
-		
-		this.whitePlayer = new WhitePlayer(this, whiteLegalMoves, blackLegalMoves);
-		this.blackPlayer = new BlackPlayer(this, whiteLegalMoves, blackLegalMoves);
-		this.currentPlayer = builder.nextMoveMaker.choosePlayer(this.whitePlayer, this.blackPlayer);
+		this.castlingRights = calculateCastlingRights(this.boardConfiguration);
+		this.nextMoveMaker = builder.nextMoveMaker;
+		//Moves pass in the key updated from their previous board; anything else is hashed from scratch
+		this.zobristKey = builder.hasZobristKey ? builder.zobristKey : Zobrist.calculateKey(this);
 	}
 	
 	@Override
 	public String toString() {
 		final StringBuilder builder = new StringBuilder();
 	    for (int i = 0; i < BoardUtilities.NUM_TILES; i++) {
-	    	final String tileText = this.gameBoard.get(i).toString();
+	    	final String tileText = getTile(i).toString();
 	        builder.append(String.format("%3s", tileText));
 	        if ((i + 1) % 8 == 0) {
 	            builder.append("\n");
@@ -47,8 +50,13 @@ public class Board {
 	}
 	
 	
+	//Tiles are created on demand; empty tiles are shared and occupied tiles are only built when asked for
 	public Tile getTile(final int tileCoordinate) {
-		return gameBoard.get(tileCoordinate);
+		return Tile.createTile(tileCoordinate, this.boardConfiguration[tileCoordinate]);
+	}
+	
+	public BitBoard getBitBoard() {
+		return this.bitBoard;
 	}
 	
 	public Collection<Piece> getWhitePieces() {
@@ -63,61 +71,129 @@ public class Board {
 		return this.enPassantPawn;
 	}
 	
+	//Castling rights as a mask of the BoardUtilities castling constants
+	public int getCastlingRights() {
+		return this.castlingRights;
+	}
+	
+	public long getZobristKey() {
+		return this.zobristKey;
+	}
+	
+	//Players, and with them legal moves and check status, are only created when first asked for, so boards that are
+	//just drawn, hashed or evaluated never generate moves. Boards can be shared between threads, and the locking
+	//makes sure every thread gets the same player
 	public Player whitePlayer() {
-		return this.whitePlayer;
+		WhitePlayer player = this.whitePlayer;
+		if (player == null) {
+			synchronized (this) {
+				player = this.whitePlayer;
+				if (player == null) {
+					player = new WhitePlayer(this);
+					this.whitePlayer = player;
+				}
+			}
+		}
+		return player;
 	}
 	
 	public Player blackPlayer() {
-		return this.blackPlayer;
+		BlackPlayer player = this.blackPlayer;
+		if (player == null) {
+			synchronized (this) {
+				player = this.blackPlayer;
+				if (player == null) {
+					player = new BlackPlayer(this);
+					this.blackPlayer = player;
+				}
+			}
+		}
+		return player;
 	}
 	
 	public Player currentPlayer() {
-		return this.currentPlayer;
+		return this.nextMoveMaker.isWhite() ? whitePlayer() : blackPlayer();
+	}
+	
+	public Alliance getNextMoveMaker() {
+		return this.nextMoveMaker;
 	}
 	
 	public Piece getPiece(final int coordinate) {
-		return this.getTile(coordinate).getPiece();
+		return this.boardConfiguration[coordinate];
 	}
 	
-	private Collection<Move> calculateLegalMoves(final Collection<Piece> activePieces) {
-		final List<Move> legalMoves = new ArrayList<>();
-		
-		for (final Piece piece : activePieces) {
-			legalMoves.addAll(piece.calculateLegalMoves(this));
+	public boolean isTileOccupied(final int coordinate) {
+		return this.bitBoard.isOccupied(coordinate);
+	}
+	
+	//Whether any piece of byAlliance attacks the tile, found without generating byAlliance's moves
+	public boolean isSquareAttacked(final int coordinate, final Alliance byAlliance) {
+		return this.bitBoard.isSquareAttacked(coordinate, byAlliance);
+	}
+	
+	//The current player's legal moves by tiles and by SAN, built the first time a move is looked up on this board
+	public MoveIndex getMoveIndex() {
+		MoveIndex index = this.moveIndex;
+		if (index == null) {
+			synchronized (this) {
+				index = this.moveIndex;
+				if (index == null) {
+					index = new MoveIndex(currentPlayer().getLegalMoves());
+					this.moveIndex = index;
+				}
+			}
 		}
-		
-		return legalMoves;
+		return index;
 	}
 	
 	//Returns all legal moves for both the white and black player in one list
 	public Collection<Move> getAllLegalMoves() {
         List<Move> allLegalMoves = new ArrayList<>();
-        allLegalMoves.addAll(this.whitePlayer.getLegalMoves());
-        allLegalMoves.addAll(this.blackPlayer.getLegalMoves());
+        allLegalMoves.addAll(whitePlayer().getLegalMoves());
+        allLegalMoves.addAll(blackPlayer().getLegalMoves());
         
         return Collections.unmodifiableList(allLegalMoves);
     }
 
 	//Finds all pieces a player has remaining the board
-	private static Collection<Piece> calculateActivePieces(final List<Tile> gameBoard, final Alliance alliance) {
-		final List<Piece> activePieces = new ArrayList<>();
+	private static Collection<Piece> calculateActivePieces(final Piece[] boardConfiguration, final Alliance alliance) {
+		final List<Piece> activePieces = new ArrayList<>(16);
 		
-		for (final Tile tile : gameBoard) {
-			if (tile.isTileOccupied() && tile.getPiece().getPieceAlliance() == alliance) {
-				activePieces.add(tile.getPiece());
+		for (final Piece piece : boardConfiguration) {
+			if (piece != null && piece.getPieceAlliance() == alliance) {
+				activePieces.add(piece);
 			}
 		}
 		
 		return Collections.unmodifiableList(activePieces);
 	}
 	
-	private static List<Tile> createGameBoard(final Builder builder) {
-		final List<Tile> tiles = new ArrayList<>();
-		for (int i = 0; i < BoardUtilities.NUM_TILES; i++) {
-			tiles.add(Tile.createTile(i, builder.boardConfiguration.get(i)));
+	//A side may castle if its king and the matching rook are both still on their first move
+	private static int calculateCastlingRights(final Piece[] boardConfiguration) {
+		int castlingRights = 0;
+		if (isUnmoved(boardConfiguration[60], Alliance.WHITE, true)) {
+			if (isUnmoved(boardConfiguration[63], Alliance.WHITE, false)) {
+				castlingRights |= BoardUtilities.WHITE_KING_SIDE;
+			}
+			if (isUnmoved(boardConfiguration[56], Alliance.WHITE, false)) {
+				castlingRights |= BoardUtilities.WHITE_QUEEN_SIDE;
+			}
 		}
-		
-		return Collections.unmodifiableList(tiles);
+		if (isUnmoved(boardConfiguration[4], Alliance.BLACK, true)) {
+			if (isUnmoved(boardConfiguration[7], Alliance.BLACK, false)) {
+				castlingRights |= BoardUtilities.BLACK_KING_SIDE;
+			}
+			if (isUnmoved(boardConfiguration[0], Alliance.BLACK, false)) {
+				castlingRights |= BoardUtilities.BLACK_QUEEN_SIDE;
+			}
+		}
+		return castlingRights;
+	}
+	
+	private static boolean isUnmoved(final Piece piece, final Alliance alliance, final boolean isKing) {
+		return piece != null && piece.getPieceAlliance() == alliance && piece.isFirstMove()
+				&& (isKing ? piece.isKing() : piece.isRook());
 	}
 	
 	public static Board createInitialBoard() {
@@ -158,17 +234,19 @@ public class Board {
 	//A builder class is used to create any possible board
 	public static class Builder {
 		
-		Map<Integer, Piece> boardConfiguration;
+		final Piece[] boardConfiguration;
 		Alliance nextMoveMaker;
 		Pawn enPassantPawn;
+		long zobristKey;
+		boolean hasZobristKey;
 		
 		public Builder() {
-			this.boardConfiguration = new HashMap<>();
+			this.boardConfiguration = new Piece[BoardUtilities.NUM_TILES];
 		}
 		
-		//Sets a piece on the board
+		//Sets a piece on the board, replacing any piece already on its tile
 		public Builder setPiece(final Piece piece) {
-			this.boardConfiguration.put(piece.getPiecePosition(), piece);
+			this.boardConfiguration[piece.getPiecePosition()] = piece;
 			return this;
 		}
 		
@@ -185,6 +263,13 @@ public class Board {
 			return this;
 		}
 		
+		//Sets the Zobrist key of the board being built when it has already been updated incrementally
+		public Builder setZobristKey(final long zobristKey) {
+			this.zobristKey = zobristKey;
+			this.hasZobristKey = true;
+			return this;
+		}
+		
 		//Creates board
 		public Board build() {
 			return new Board(this);
@@ -13,6 +13,16 @@ public class BoardUtilities {
 	public static final List<String> ALGEBRAIC_NOTATION = initializeAlgebraicNotation();
 	public static final Map<String, Integer> AN_TO_COORDINATE = initializeNotationMap();
 	
+	//Castling rights are stored as a 4 bit mask
+	public static final int WHITE_KING_SIDE = 1;
+	public static final int WHITE_QUEEN_SIDE = 2;
+	public static final int BLACK_KING_SIDE = 4;
+	public static final int BLACK_QUEEN_SIDE = 8;
+	public static final int ALL_CASTLING_RIGHTS = WHITE_KING_SIDE | WHITE_QUEEN_SIDE | BLACK_KING_SIDE | BLACK_QUEEN_SIDE;
+	
+	//Castling rights that survive a move from or to each tile
+	private static final int[] CASTLING_MASK = initializeCastlingMask();
+	
 	public static boolean isValidBoardCoordinate(final int coordinate) {
 		return coordinate > -1 && coordinate < 64;
 	}
@@ -39,6 +49,23 @@ public class BoardUtilities {
                 "a1", "b1", "c1", "d1", "e1", "f1", "g1", "h1"));
     }
 	
+	//Moving a king or rook off its starting tile, or capturing a rook on it, removes the matching castling rights
+	public static int updateCastlingRights(final int castlingRights, final int currentCoordinate, final int destinationCoordinate) {
+		return castlingRights & CASTLING_MASK[currentCoordinate] & CASTLING_MASK[destinationCoordinate];
+	}
+	
+	private static int[] initializeCastlingMask() {
+		final int[] mask = new int[NUM_TILES];
+		Arrays.fill(mask, ALL_CASTLING_RIGHTS);
+		mask[60] &= ~(WHITE_KING_SIDE | WHITE_QUEEN_SIDE);
+		mask[63] &= ~WHITE_KING_SIDE;
+		mask[56] &= ~WHITE_QUEEN_SIDE;
+		mask[4] &= ~(BLACK_KING_SIDE | BLACK_QUEEN_SIDE);
+		mask[7] &= ~BLACK_KING_SIDE;
+		mask[0] &= ~BLACK_QUEEN_SIDE;
+		return mask;
+	}
+	
 	public static int getCoordinateAtPosition(final String position) {
 		return AN_TO_COORDINATE.get(position);
 	}
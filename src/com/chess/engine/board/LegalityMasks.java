@@ -0,0 +1,119 @@
+package com.chess.engine.board;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece.PieceType;
+
+//What a side's pseudo-legal moves have to respect to keep its own king out of check, worked out once per position:
+//the pieces giving check, the tiles a move must land on to answer a single check, and the pieces pinned to the king.
+//A pinned piece may only move along the line through its king and pinner, and a king may only step onto tiles that
+//no opposing piece attacks once the king has left its tile. En passant removes two pieces from one row, so it is
+//tested on the occupancy it leaves behind. With these no move has to be made to find out whether it is legal
+public final class LegalityMasks {
+
+	private static final int WHITE = 0;
+
+	private long[] pieceBitboards;
+	private int side;
+	private int kingSquare;
+	private long occupancy;
+	private long checkers;
+	private long evasionTargets;	//The tiles a move other than a king move must land on, all tiles if not in check
+	private long pinned;
+
+	public LegalityMasks(final BitBoard bitBoard, final Alliance alliance) {
+		update(bitBoard.getPieceBitboards(), alliance.ordinal(), bitBoard.getOccupancy());
+	}
+
+	//MutableBoard keeps one instance and updates it before filtering each move list
+	LegalityMasks() {
+	}
+
+	void update(final long[] pieceBitboards, final int side, final long occupancy) {
+		this.pieceBitboards = pieceBitboards;
+		this.side = side;
+		this.occupancy = occupancy;
+		this.kingSquare = BitBoard.lowestSquare(pieces(side, PieceType.KING));
+		this.checkers = attackersOf(this.kingSquare, occupancy, BitBoard.EMPTY);
+
+		if (this.checkers == 0) {
+			this.evasionTargets = ~BitBoard.EMPTY;
+		} else if ((this.checkers & (this.checkers - 1)) == 0) {
+			//A single check is answered by capturing the checker or blocking between it and the king
+			this.evasionTargets = this.checkers | AttackTables.between(this.kingSquare, BitBoard.lowestSquare(this.checkers));
+		} else {
+			//Only the king can answer a double check
+			this.evasionTargets = BitBoard.EMPTY;
+		}
+
+		//An opposing slider pins a piece when that piece is all that stands between it and the king
+		final int enemy = side ^ 1;
+		final long queens = pieces(enemy, PieceType.QUEEN);
+		long pinners = (AttackTables.rookAttacks(this.kingSquare, BitBoard.EMPTY) & (pieces(enemy, PieceType.ROOK) | queens))
+				| (AttackTables.bishopAttacks(this.kingSquare, BitBoard.EMPTY) & (pieces(enemy, PieceType.BISHOP) | queens));
+		final long own = ownOccupancy();
+		this.pinned = BitBoard.EMPTY;
+		while (pinners != 0) {
+			final long blockers = AttackTables.between(this.kingSquare, BitBoard.lowestSquare(pinners)) & occupancy;
+			pinners &= pinners - 1;
+			if (blockers != 0 && (blockers & (blockers - 1)) == 0 && (blockers & own) != 0) {
+				this.pinned |= blockers;
+			}
+		}
+	}
+
+	//Whether a pseudo-legal move from one tile to another leaves the moving side's king safe. Castling moves must
+	//already have been checked for crossing attacked tiles
+	public boolean isLegal(final int from, final int to, final boolean isKingMove, final boolean isEnPassant) {
+		if (isKingMove) {
+			//The king is taken off the board, so sliders attacking it also attack the tiles behind it
+			return attackersOf(to, this.occupancy & ~BitBoard.squareMask(from), BitBoard.EMPTY) == 0;
+		}
+		if (isEnPassant) {
+			final int captureSquare = this.side == WHITE ? to + 8 : to - 8;
+			final long captured = BitBoard.squareMask(captureSquare);
+			final long occupancyAfter = (this.occupancy & ~BitBoard.squareMask(from) & ~captured) | BitBoard.squareMask(to);
+			return attackersOf(this.kingSquare, occupancyAfter, captured) == 0;
+		}
+		if ((this.evasionTargets & BitBoard.squareMask(to)) == 0) {
+			return false;
+		}
+		return (this.pinned & BitBoard.squareMask(from)) == 0 || (AttackTables.line(this.kingSquare, from) & BitBoard.squareMask(to)) != 0;
+	}
+
+	public boolean isInCheck() {
+		return this.checkers != 0;
+	}
+
+	public long getCheckers() {
+		return this.checkers;
+	}
+
+	public long getPinned() {
+		return this.pinned;
+	}
+
+	//The opposing pieces, other than those in removed, that attack a tile with the given occupancy
+	private long attackersOf(final int square, final long occupancy, final long removed) {
+		final int enemy = this.side ^ 1;
+		final long queens = pieces(enemy, PieceType.QUEEN);
+		//A pawn of the moving side on this tile would attack exactly the tiles an opposing pawn could attack it from
+		final long attackers = (AttackTables.pawnAttacks(this.side, square) & pieces(enemy, PieceType.PAWN))
+				| (AttackTables.knightAttacks(square) & pieces(enemy, PieceType.KNIGHT))
+				| (AttackTables.kingAttacks(square) & pieces(enemy, PieceType.KING))
+				| (AttackTables.rookAttacks(square, occupancy) & (pieces(enemy, PieceType.ROOK) | queens))
+				| (AttackTables.bishopAttacks(square, occupancy) & (pieces(enemy, PieceType.BISHOP) | queens));
+		return attackers & ~removed;
+	}
+
+	private long ownOccupancy() {
+		long own = BitBoard.EMPTY;
+		for (int i = 0; i < BitBoard.NUM_PIECE_TYPES; i++) {
+			own |= this.pieceBitboards[this.side * BitBoard.NUM_PIECE_TYPES + i];
+		}
+		return own;
+	}
+
+	private long pieces(final int side, final PieceType pieceType) {
+		return this.pieceBitboards[side * BitBoard.NUM_PIECE_TYPES + pieceType.ordinal()];
+	}
+}
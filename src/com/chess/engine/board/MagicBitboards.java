@@ -0,0 +1,125 @@
+package com.chess.engine.board;
+
+//Rook and bishop attacks by magic bitboard lookup. For every tile the pieces that can block a slider (its rays minus
+//the edge tiles, which block nothing beyond them) are multiplied by a magic number so that the top bits of the product
+//form a unique index for each distinct set of blockers. The attack set for every blocker combination is stored at its
+//index once at startup, so a lookup is one mask, one multiply, one shift and one array load.
+//The magics were found by trial with random sparse numbers for this tile numbering (tile 0 is a8), which takes too
+//long to repeat on every start; building the tables checks that each one still maps every blocker set correctly
+final class MagicBitboards {
+
+	private static final long[] ROOK_MAGICS = {
+		0x2A00120020810040L, 0x0340024010002005L, 0x4100200040081100L, 0x0880280070008084L,
+		0x0480040008000280L, 0x11000100082C008AL, 0x44000C3118921008L, 0x0300020120824100L,
+		0x8021800040008120L, 0x0024400050002000L, 0x908480500480A000L, 0x8582001042000824L,
+		0x6110808004000800L, 0x1012000508100200L, 0x0009000100041A00L, 0x4006000500860044L,
+		0x3088808010204000L, 0x0010054020084000L, 0x2468410014200100L, 0x0408008008801000L,
+		0x0002050010080100L, 0x028C818012000400L, 0x4800040090221108L, 0x3800060000408904L,
+		0x0080004040002008L, 0x00C0400080200084L, 0x0042401100200300L, 0x00810023000A1000L,
+		0x9001000500504800L, 0x0002000200041008L, 0x19E0102400220881L, 0x0040010200004084L,
+		0x0024800245002300L, 0x0010802008804000L, 0x8000402001001100L, 0x0000250009001000L,
+		0x0009000801001004L, 0x0000800400800200L, 0x1082000422001811L, 0x08008000C2800500L,
+		0x048000402008C001L, 0x0040002000808048L, 0x8830001020008080L, 0x28A02200400A0010L,
+		0xC43800800400800AL, 0x0040040002008080L, 0x0000501209840008L, 0x8408808100420004L,
+		0x1280004000201040L, 0x4904401000200340L, 0x40C6002149108200L, 0x0020100080080080L,
+		0x0004008204080080L, 0x0001000400180300L, 0x0200102801420400L, 0x4000004C01208600L,
+		0x0801644010800901L, 0x00B0102440028105L, 0x220100A0000A4013L, 0x0000050008201001L,
+		0x200A000408102002L, 0x0025000400481291L, 0x0203110830821004L, 0x000004010081324AL
+	};
+
+	private static final long[] BISHOP_MAGICS = {
+		0x00083004084C0020L, 0x080408184040802EL, 0x204408448108A002L, 0x0018062130040000L,
+		0x0001104000200100L, 0x2826225040000401L, 0x4000580404200004L, 0x0802020202010400L,
+		0x0400882244440422L, 0x0221100212005200L, 0x2004080805222082L, 0x008308069100E000L,
+		0x00000510C0109002L, 0x0880B09010080008L, 0x80A4086808080800L, 0x2006820200A20900L,
+		0x0A20004002021242L, 0x0402C070100A0082L, 0x100442180210A200L, 0x8008204404001200L,
+		0x0082100401201004L, 0x04120041480C1C01L, 0x0020810042109020L, 0x040A00048208CE08L,
+		0x2004A00040820448L, 0x0002090002080800L, 0x0204020850008018L, 0x0004080002220040L,
+		0x50C8848004002000L, 0x1010002000441000L, 0x4120808101041018L, 0x10490201004E0880L,
+		0x3818290402400400L, 0x0001080301200400L, 0x2002003001420080L, 0x0490400808408200L,
+		0x0001010401060020L, 0x0090008020020200L, 0x922800C084040204L, 0x20C2021841760060L,
+		0x0014420211004018L, 0xC402421014061110L, 0x0100104230008805L, 0x2400004200800800L,
+		0x0000400922000412L, 0x2011021800442600L, 0x408404841048040AL, 0x0061020409000050L,
+		0x2006411009208040L, 0x0002022A02120028L, 0x1002002402081001L, 0x0400880042120401L,
+		0x0402002002440800L, 0x20C0500210010A30L, 0x1206905002008000L, 0x0010020084008300L,
+		0x0088220804040200L, 0x9100C209443A0802L, 0x0020100021080800L, 0x2004400011420220L,
+		0x00808004A9302C00L, 0x6205002082820200L, 0x000848201800B10CL, 0x0140521401083100L
+	};
+
+	private static final long[] ROOK_MASKS = new long[BoardUtilities.NUM_TILES];
+	private static final int[] ROOK_SHIFTS = new int[BoardUtilities.NUM_TILES];
+	private static final int[] ROOK_OFFSETS = new int[BoardUtilities.NUM_TILES];
+	private static final long[] ROOK_ATTACKS;
+
+	private static final long[] BISHOP_MASKS = new long[BoardUtilities.NUM_TILES];
+	private static final int[] BISHOP_SHIFTS = new int[BoardUtilities.NUM_TILES];
+	private static final int[] BISHOP_OFFSETS = new int[BoardUtilities.NUM_TILES];
+	private static final long[] BISHOP_ATTACKS;
+
+	static {
+		ROOK_ATTACKS = initialize(AttackTables.ROOK_DIRECTIONS, ROOK_MAGICS, ROOK_MASKS, ROOK_SHIFTS, ROOK_OFFSETS);
+		BISHOP_ATTACKS = initialize(AttackTables.BISHOP_DIRECTIONS, BISHOP_MAGICS, BISHOP_MASKS, BISHOP_SHIFTS, BISHOP_OFFSETS);
+	}
+
+	private MagicBitboards() {
+		throw new RuntimeException("Cannot instantiate object of type MagicBitboards");
+	}
+
+	static long rookAttacks(final int tile, final long occupancy) {
+		return ROOK_ATTACKS[ROOK_OFFSETS[tile] + (int) (((occupancy & ROOK_MASKS[tile]) * ROOK_MAGICS[tile]) >>> ROOK_SHIFTS[tile])];
+	}
+
+	static long bishopAttacks(final int tile, final long occupancy) {
+		return BISHOP_ATTACKS[BISHOP_OFFSETS[tile] + (int) (((occupancy & BISHOP_MASKS[tile]) * BISHOP_MAGICS[tile]) >>> BISHOP_SHIFTS[tile])];
+	}
+
+	//Fills in the mask, shift and offset of every tile and returns the attack table they index into
+	private static long[] initialize(final int[] directions, final long[] magics, final long[] masks, final int[] shifts,
+			final int[] offsets) {
+		int tableSize = 0;
+		for (int tile = 0; tile < BoardUtilities.NUM_TILES; tile++) {
+			masks[tile] = relevantOccupancyMask(tile, directions);
+			shifts[tile] = 64 - Long.bitCount(masks[tile]);
+			offsets[tile] = tableSize;
+			tableSize += 1 << Long.bitCount(masks[tile]);
+		}
+		final long[] table = new long[tableSize];
+		for (int tile = 0; tile < BoardUtilities.NUM_TILES; tile++) {
+			final long mask = masks[tile];
+			final boolean[] used = new boolean[1 << Long.bitCount(mask)];
+			//Walks every subset of the mask
+			long occupancy = 0L;
+			do {
+				final int index = (int) ((occupancy * magics[tile]) >>> shifts[tile]);
+				final long attacks = rayAttacks(tile, directions, occupancy);
+				if (used[index] && table[offsets[tile] + index] != attacks) {
+					throw new RuntimeException("Magic number collision on tile " + tile);
+				}
+				used[index] = true;
+				table[offsets[tile] + index] = attacks;
+				occupancy = (occupancy - mask) & mask;
+			} while (occupancy != 0);
+		}
+		return table;
+	}
+
+	//The tiles whose occupancy can change a slider's attacks: each ray without its last tile
+	private static long relevantOccupancyMask(final int tile, final int[] directions) {
+		long mask = 0L;
+		for (final int direction : directions) {
+			final int[] ray = AttackTables.ray(direction, tile);
+			for (int i = 0; i < ray.length - 1; i++) {
+				mask |= BitBoard.squareMask(ray[i]);
+			}
+		}
+		return mask;
+	}
+
+	private static long rayAttacks(final int tile, final int[] directions, final long occupancy) {
+		long attacks = 0L;
+		for (final int direction : directions) {
+			attacks |= AttackTables.slidingAttacks(direction, tile, occupancy);
+		}
+		return attacks;
+	}
+}
@@ -43,6 +43,14 @@ public abstract class Move {
 				this.isFirstMove == otherMove.isFirstMove;
 	}
 	
+	@Override
+	public int hashCode() {
+		int result = this.destinationCoordinate;
+		result = 31 * result + (this.movedPiece != null ? this.movedPiece.hashCode() : 0);
+		result = 31 * result + (this.isFirstMove ? 1 : 0);
+		return result;
+	}
+	
 	public Piece getMovedPiece() {
 		return this.movedPiece;
 	}
@@ -71,6 +79,30 @@ public abstract class Move {
 		return false;
 	}
 	
+	//Standard algebraic notation, disambiguated against the other legal moves of the board the move is played on. The
+	//board's MoveIndex works it out once and keeps it, so moves can be printed over and over, as the move history does
+	@Override
+	public String toString() {
+		return this.board.getMoveIndex().toSan(this);
+	}
+	
+	//Returns the Zobrist key of the board this move leads to by updating the key of the current board:
+	//the moved piece leaves its tile and lands on the destination, a captured piece is removed, the side to move
+	//flips and the en passant and castling keys are swapped for the new ones
+	public long calculateZobristKey() {
+		long key = this.board.getZobristKey() ^ Zobrist.blackToMoveKey() ^ Zobrist.pieceKey(this.movedPiece)
+				^ Zobrist.pieceKey(BitBoard.pieceIndex(this.movedPiece), this.destinationCoordinate);
+		if (getCapturedPiece() != null) {
+			key ^= Zobrist.pieceKey(getCapturedPiece());
+		}
+		if (this.board.getEnPassantPawn() != null) {
+			key ^= Zobrist.enPassantKey(this.board.getEnPassantPawn().getPiecePosition());
+		}
+		final int castlingRights = this.board.getCastlingRights();
+		return key ^ Zobrist.castlingKey(castlingRights) ^ Zobrist.castlingKey(
+				BoardUtilities.updateCastlingRights(castlingRights, getCurrentCoordinate(), this.destinationCoordinate));
+	}
+	
 	//Method used to carry out a move and return the resulting board
 	public Board execute() {
 		final Builder builder = new Builder();
@@ -88,6 +120,7 @@ public abstract class Move {
 		builder.setPiece(this.movedPiece.movePiece(this));
 		//Sets the opponent to be the next move maker on the resulting board
 		builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+		builder.setZobristKey(calculateZobristKey());
 		
 		return builder.build();
 	}
@@ -104,11 +137,6 @@ public abstract class Move {
 	        public boolean equals(final Object other) {
 	            return this == other || other instanceof PositioningMove && super.equals(other);
 	        }
-		
-		@Override
-		public String toString() {
-			return this.movedPiece.getPieceType().toString() + BoardUtilities.getPositionAtCoordinate(destinationCoordinate);
-		}
 	}
 	
 	//A capturing move is a move where a piece moves onto the tile of an opposing piece
@@ -144,12 +172,6 @@ public abstract class Move {
 			return super.equals(otherCaputuringMove) 
 					&& getCapturedPiece().equals(otherCaputuringMove.getCapturedPiece());
 		}
-		
-		@Override
-		public String toString() {
-			return this.movedPiece.getPieceType().toString() + "x" 
-					+ BoardUtilities.getPositionAtCoordinate(destinationCoordinate);
-		}
 	}
 	
 	public static final class PawnMove extends Move {
@@ -163,10 +185,6 @@ public abstract class Move {
 		public boolean equals(final Object other) {
 			return this == other || other instanceof PawnMove && super.equals(other);
 		}
-		@Override
-		public String toString() {
-			return BoardUtilities.getPositionAtCoordinate(destinationCoordinate);
-		}
 	}
 	
 	public static class PawnCapturingMove extends CapturingMove {
@@ -180,12 +198,6 @@ public abstract class Move {
 		public boolean equals(final Object other) {
 			return this == other || other instanceof PawnCapturingMove && super.equals(other);
 		}
-		
-		@Override
-		public String toString() {
-			return BoardUtilities.getPositionAtCoordinate(this.getCurrentCoordinate()).substring(0,  1) 
-					+ "x" + BoardUtilities.getPositionAtCoordinate(destinationCoordinate);
-		}
 	}
 	
 	
@@ -194,11 +206,21 @@ public abstract class Move {
 		
 		final Move decoratedMove;
 		final Pawn promotedPawn;
+		final Piece promotionPiece;
 		
 		public PawnPromotionMove(final Move decoratedMove) {
+			this(decoratedMove, ((Pawn) decoratedMove.getMovedPiece()).getPromotionPiece());
+		}
+		
+		public PawnPromotionMove(final Move decoratedMove, final Piece promotionPiece) {
 			super(decoratedMove.getBoard(), decoratedMove.getMovedPiece(), decoratedMove.getDestinationCoordinates());
 			this.decoratedMove = decoratedMove;
 			this.promotedPawn = (Pawn) decoratedMove.getMovedPiece();
+			this.promotionPiece = promotionPiece;
+		}
+		
+		public Piece getPromotionPiece() {
+			return this.promotionPiece;
 		}
 		
 		@Override
@@ -215,12 +237,21 @@ public abstract class Move {
 			for (final Piece piece : pawnMoveBoard.currentPlayer().getOpponent().getActivePieces()) {
 				builder.setPiece(piece);
 			}
-			builder.setPiece(this.promotedPawn.getPromotionPiece().movePiece(this));
+			builder.setPiece(this.promotionPiece.movePiece(this));
 			builder.setMoveMaker(pawnMoveBoard.currentPlayer().getAlliance());
+			builder.setZobristKey(calculateZobristKey());
 			
 			return builder.build();
 		}
 		
+		//The pawn that lands on the promotion tile is swapped for the promotion piece
+		@Override
+		public long calculateZobristKey() {
+			return this.decoratedMove.calculateZobristKey()
+					^ Zobrist.pieceKey(BitBoard.pieceIndex(this.promotedPawn), this.destinationCoordinate)
+					^ Zobrist.pieceKey(BitBoard.pieceIndex(this.promotionPiece), this.destinationCoordinate);
+		}
+		
 		@Override
 		public boolean isAttack() {
 			return this.decoratedMove.isAttack();
@@ -231,14 +262,10 @@ public abstract class Move {
 			return this.decoratedMove.getCapturedPiece();
 		}
 		
-		@Override
-		public String toString() {
-			return BoardUtilities.getPositionAtCoordinate(destinationCoordinate) + "=Q";
-		}
-		
 		@Override
 		public boolean equals (Object other) {
-			return this == other || other instanceof PawnPromotionMove && super.equals(other);
+			return this == other || other instanceof PawnPromotionMove && super.equals(other)
+					&& this.promotionPiece.getPieceType() == ((PawnPromotionMove) other).getPromotionPiece().getPieceType();
 		}
 	}
 	
@@ -271,6 +298,7 @@ public abstract class Move {
 			}
 			builder.setPiece(this.movedPiece.movePiece(this));
 			builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+			builder.setZobristKey(calculateZobristKey());
 			
 			return builder.build();
 		}
@@ -305,13 +333,15 @@ public abstract class Move {
 			//When a pawn jumps, it becomes an EnPassantPawn on the resulting board
 			builder.setEnPassantPawn(movedPawn);
 			builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+			builder.setZobristKey(calculateZobristKey());
 			
 			return builder.build();
 		}
 		
+		//The jumping pawn becomes the en passant pawn of the resulting board
 		@Override
-		public String toString() {
-			return BoardUtilities.getPositionAtCoordinate(destinationCoordinate);
+		public long calculateZobristKey() {
+			return super.calculateZobristKey() ^ Zobrist.enPassantKey(this.destinationCoordinate);
 		}
 	}
 	
@@ -351,10 +381,18 @@ public abstract class Move {
 			builder.setPiece(this.movedPiece.movePiece(this));
 			builder.setPiece(new Rook(this.castleRookDestination, this.castleRook.getPieceAlliance()));
 			builder.setMoveMaker(this.board.currentPlayer().getOpponent().getAlliance());
+			builder.setZobristKey(calculateZobristKey());
 			
 			return builder.build();
 		}
 		
+		//The castling rook moves along with the king
+		@Override
+		public long calculateZobristKey() {
+			return super.calculateZobristKey() ^ Zobrist.pieceKey(this.castleRook)
+					^ Zobrist.pieceKey(BitBoard.pieceIndex(this.castleRook), this.castleRookDestination);
+		}
+		
 		@Override
 		public boolean equals(final Object other) {
 			if (this == other) {
@@ -367,7 +405,6 @@ public abstract class Move {
 			
 			return super.equals(otherCastleMove) && this.castleRook.equals(otherCastleMove.getCastleRook());
 		}
-		
 	}
 	
 	public static final class KingSideCastlingMove extends CastlingMove {
@@ -377,11 +414,6 @@ public abstract class Move {
 				final int castleRookDestination) {
 			super(board, movedPiece, destinationCoordinate, castleRook, castleRookDestination);
 		}
-		
-		@Override
-		public String toString() {
-			return "0-0";
-		}
 	}
 	
 	public static final class QueenSideCastlingMove extends CastlingMove {
@@ -391,11 +423,6 @@ public abstract class Move {
 				final int castleRookDestination) {
 			super(board, movedPiece, destinationCoordinate, castleRook, castleRookDestination);
 		}
-		
-		@Override
-		public String toString() {
-			return "0-0-0";
-		}
 	}
 	
 	public static final class NullMove extends Move {
@@ -404,6 +431,11 @@ public abstract class Move {
 			super(null, null, -1, false);
 		}
 		
+		@Override
+		public String toString() {
+			return "--";
+		}
+		
 		@Override
 		public Board execute() {
 			throw new RuntimeException("Cannot execute a null move");
@@ -416,18 +448,10 @@ public abstract class Move {
 			throw new RuntimeException("Cannot instantiate object of type MoveFactory");
 		}
 		
+		//Returns the side to move's legal move between the two tiles, promoting to a queen, or NULL_MOVE if there is none
 		public static Move createMove (final Board board, final int currentCoordinate,
 				final int destinationCoordinate) {
-			
-			for (final Move move : board.getAllLegalMoves()) {
-				//if the move is valid return the move
-				if (move.getCurrentCoordinate() == currentCoordinate && 
-						move.getDestinationCoordinates() == destinationCoordinate) {
-					return move;
-				}
-			}
-			//If the move is not legal return a NULL_MOVE
-			return NULL_MOVE;
+			return board.getMoveIndex().getMove(currentCoordinate, destinationCoordinate, null);
 		}
 	}
 	
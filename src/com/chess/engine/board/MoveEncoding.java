@@ -0,0 +1,144 @@
+package com.chess.engine.board;
+
+import com.chess.engine.pieces.Piece;
+
+//Moves in the search and perft hot paths are packed into an int instead of being Move objects:
+//bits 0-5 the from tile, 6-11 the destination tile, 12-15 the move flag, 16-19 the moved piece index and 20-23 the
+//captured piece index (NO_CAPTURE if nothing is captured). Piece indices are those of BitBoard. The low 16 bits alone
+//identify a move within its position, which is what the transposition table stores
+public final class MoveEncoding {
+
+	//Move flags
+	public static final int QUIET_MOVE = 0;
+	public static final int PAWN_JUMP = 1;
+	public static final int EN_PASSANT = 2;
+	public static final int KING_SIDE_CASTLE = 3;
+	public static final int QUEEN_SIDE_CASTLE = 4;
+	public static final int PROMOTE_KNIGHT = 5;
+	public static final int PROMOTE_BISHOP = 6;
+	public static final int PROMOTE_ROOK = 7;
+	public static final int PROMOTE_QUEEN = 8;
+
+	public static final int NO_MOVE = 0;
+	public static final int NO_CAPTURE = 0xF;
+
+	private static final int TO_SHIFT = 6;
+	private static final int FLAG_SHIFT = 12;
+	private static final int PIECE_SHIFT = 16;
+	private static final int CAPTURED_SHIFT = 20;
+	private static final int SHORT_MOVE_MASK = 0xFFFF;
+
+	private MoveEncoding() {
+		throw new RuntimeException("Cannot instantiate object of type MoveEncoding");
+	}
+
+	//capturedPiece is a BitBoard piece index or BitBoard.NO_PIECE
+	public static int createMove(final int from, final int to, final int flag, final int movedPiece, final int capturedPiece) {
+		return from | (to << TO_SHIFT) | (flag << FLAG_SHIFT) | (movedPiece << PIECE_SHIFT)
+				| ((capturedPiece == BitBoard.NO_PIECE ? NO_CAPTURE : capturedPiece) << CAPTURED_SHIFT);
+	}
+
+	public static int getFrom(final int move) {
+		return move & 0x3F;
+	}
+
+	public static int getTo(final int move) {
+		return (move >>> TO_SHIFT) & 0x3F;
+	}
+
+	public static int getFlag(final int move) {
+		return (move >>> FLAG_SHIFT) & 0xF;
+	}
+
+	public static int getMovedPiece(final int move) {
+		return (move >>> PIECE_SHIFT) & 0xF;
+	}
+
+	//Returns the BitBoard piece index of the captured piece, or BitBoard.NO_PIECE
+	public static int getCapturedPiece(final int move) {
+		final int capturedPiece = (move >>> CAPTURED_SHIFT) & 0xF;
+		return capturedPiece == NO_CAPTURE ? BitBoard.NO_PIECE : capturedPiece;
+	}
+
+	public static boolean isCapture(final int move) {
+		return ((move >>> CAPTURED_SHIFT) & 0xF) != NO_CAPTURE;
+	}
+
+	public static boolean isPromotion(final int move) {
+		return getFlag(move) >= PROMOTE_KNIGHT;
+	}
+
+	public static boolean isCastle(final int move) {
+		final int flag = getFlag(move);
+		return flag == KING_SIDE_CASTLE || flag == QUEEN_SIDE_CASTLE;
+	}
+
+	//The from tile, destination tile and flag, without the piece indices
+	public static int shortMove(final int move) {
+		return move & SHORT_MOVE_MASK;
+	}
+
+	public static boolean isSameMove(final int move, final int shortMove) {
+		return (move & SHORT_MOVE_MASK) == shortMove;
+	}
+
+	//Encodes a Move generated by a Board
+	public static int fromMove(final Move move) {
+		final int from = move.getCurrentCoordinate();
+		final int to = move.getDestinationCoordinates();
+		final int movedPiece = BitBoard.pieceIndex(move.getMovedPiece());
+		final Piece capturedPiece = move.getCapturedPiece();
+		final int captured = capturedPiece == null ? BitBoard.NO_PIECE : BitBoard.pieceIndex(capturedPiece);
+		final int flag;
+		if (move instanceof Move.PawnPromotionMove) {
+			switch (((Move.PawnPromotionMove) move).getPromotionPiece().getPieceType()) {
+				case KNIGHT:
+					flag = PROMOTE_KNIGHT;
+					break;
+				case BISHOP:
+					flag = PROMOTE_BISHOP;
+					break;
+				case ROOK:
+					flag = PROMOTE_ROOK;
+					break;
+				default:
+					flag = PROMOTE_QUEEN;
+			}
+		} else if (move instanceof Move.PawnJumpMove) {
+			flag = PAWN_JUMP;
+		} else if (move instanceof Move.PawnEnPassantMove) {
+			flag = EN_PASSANT;
+		} else if (move instanceof Move.KingSideCastlingMove) {
+			flag = KING_SIDE_CASTLE;
+		} else if (move instanceof Move.QueenSideCastlingMove) {
+			flag = QUEEN_SIDE_CASTLE;
+		} else {
+			flag = QUIET_MOVE;
+		}
+		return createMove(from, to, flag, movedPiece, captured);
+	}
+
+	//Finds the Move on board that an encoded move stands for, or Move.NULL_MOVE if it is not legal there
+	public static Move toMove(final Board board, final int move) {
+		if (move == NO_MOVE) {
+			return Move.NULL_MOVE;
+		}
+		final int shortMove = shortMove(move);
+		for (final Move legalMove : board.currentPlayer().getLegalMoves()) {
+			if (shortMove(fromMove(legalMove)) == shortMove) {
+				return legalMove;
+			}
+		}
+		return Move.NULL_MOVE;
+	}
+
+	//Coordinate notation as used by UCI, e.g. e2e4 or e7e8q
+	public static String toString(final int move) {
+		final String notation = BoardUtilities.getPositionAtCoordinate(getFrom(move))
+				+ BoardUtilities.getPositionAtCoordinate(getTo(move));
+		if (isPromotion(move)) {
+			return notation + "nbrq".charAt(getFlag(move) - PROMOTE_KNIGHT);
+		}
+		return notation;
+	}
+}
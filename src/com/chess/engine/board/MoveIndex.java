@@ -0,0 +1,149 @@
+package com.chess.engine.board;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.chess.engine.board.Move.PawnPromotionMove;
+import com.chess.engine.pieces.Piece.PieceType;
+
+//The legal moves of one position looked up by tiles and by standard algebraic notation, built once from the legal
+//moves of the side to move and kept by its Board, see Board.getMoveIndex(). Every move's SAN is worked out against the
+//other legal moves, so it carries exactly the disambiguation it needs. SAN keys leave out the check and mate marks,
+//since finding them means playing the move; toSan plays a move the first time it is asked for and keeps the result
+public final class MoveIndex {
+
+	private final Move[] moves;
+	private final String[] sans;
+	//Filled in by toSan. Strings are immutable, so threads that race to fill an entry agree on its value
+	private final String[] markedSans;
+	private final Map<Integer, Integer> byTiles;
+	private final Map<String, Integer> bySan;
+
+	MoveIndex(final Collection<Move> legalMoves) {
+		this.moves = legalMoves.toArray(new Move[legalMoves.size()]);
+		this.sans = new String[this.moves.length];
+		this.markedSans = new String[this.moves.length];
+		this.byTiles = new HashMap<>(this.moves.length * 2);
+		this.bySan = new HashMap<>(this.moves.length * 2);
+		for (int i = 0; i < this.moves.length; i++) {
+			final Move move = this.moves[i];
+			final PieceType promotionType = promotionTypeOf(move);
+			this.byTiles.put(tilesKey(move.getCurrentCoordinate(), move.getDestinationCoordinates(), promotionType), i);
+			//A promotion without a piece given is to a queen
+			if (promotionType == PieceType.QUEEN) {
+				this.byTiles.put(tilesKey(move.getCurrentCoordinate(), move.getDestinationCoordinates(), null), i);
+			}
+			this.sans[i] = calculateSan(move, promotionType);
+			this.bySan.put(this.sans[i], i);
+		}
+	}
+
+	public int size() {
+		return this.moves.length;
+	}
+
+	//The legal move between the two tiles, or Move.NULL_MOVE. A null promotion type finds a queen promotion
+	public Move getMove(final int currentCoordinate, final int destinationCoordinate, final PieceType promotionType) {
+		final Integer index = this.byTiles.get(tilesKey(currentCoordinate, destinationCoordinate, promotionType));
+		return index == null ? Move.NULL_MOVE : this.moves[index];
+	}
+
+	//The legal move written in SAN, or Move.NULL_MOVE. Check and mate marks and annotations such as "!?" are ignored,
+	//and castling may be written with zeros
+	public Move getMove(final String san) {
+		int end = san.length();
+		while (end > 0 && "+#!?".indexOf(san.charAt(end - 1)) >= 0) {
+			end--;
+		}
+		String key = san.substring(0, end);
+		if (key.equals("0-0")) {
+			key = "O-O";
+		} else if (key.equals("0-0-0")) {
+			key = "O-O-O";
+		}
+		final Integer index = this.bySan.get(key);
+		return index == null ? Move.NULL_MOVE : this.moves[index];
+	}
+
+	//The SAN of one of this position's legal moves, with a check or mate mark. A move that is not among them, such as
+	//one of the side not to move, is written in coordinates, e.g. e2e4 or e7e8q, since it cannot be played here
+	public String toSan(final Move move) {
+		final PieceType promotionType = promotionTypeOf(move);
+		final Integer index = this.byTiles.get(tilesKey(move.getCurrentCoordinate(), move.getDestinationCoordinates(),
+				promotionType));
+		if (index == null) {
+			final String notation = BoardUtilities.getPositionAtCoordinate(move.getCurrentCoordinate())
+					+ BoardUtilities.getPositionAtCoordinate(move.getDestinationCoordinates());
+			return promotionType == null ? notation : notation + promotionType.toString().toLowerCase();
+		}
+		String san = this.markedSans[index];
+		if (san == null) {
+			final Board board = this.moves[index].execute();
+			san = this.sans[index];
+			if (board.currentPlayer().isInCheckMate()) {
+				san += "#";
+			} else if (board.currentPlayer().isInCheck()) {
+				san += "+";
+			}
+			this.markedSans[index] = san;
+		}
+		return san;
+	}
+
+	private String calculateSan(final Move move, final PieceType promotionType) {
+		if (move.isCastlingMove()) {
+			return move.getDestinationCoordinates() % 8 == 6 ? "O-O" : "O-O-O";
+		}
+		final int from = move.getCurrentCoordinate();
+		final String fromTile = BoardUtilities.getPositionAtCoordinate(from);
+		final StringBuilder san = new StringBuilder(8);
+		final PieceType pieceType = move.getMovedPiece().getPieceType();
+		if (pieceType == PieceType.PAWN) {
+			if (move.isAttack()) {
+				san.append(fromTile.charAt(0)).append('x');
+			}
+			san.append(BoardUtilities.getPositionAtCoordinate(move.getDestinationCoordinates()));
+			if (promotionType != null) {
+				san.append('=').append(promotionType);
+			}
+			return san.toString();
+		}
+
+		//Another piece of the same type that can reach the same tile makes the file, the rank, or both necessary
+		boolean ambiguous = false;
+		boolean sharesFile = false;
+		boolean sharesRank = false;
+		for (final Move other : this.moves) {
+			final int otherFrom = other.getCurrentCoordinate();
+			if (otherFrom != from && other.getDestinationCoordinates() == move.getDestinationCoordinates()
+					&& other.getMovedPiece().getPieceType() == pieceType && !other.isCastlingMove()) {
+				ambiguous = true;
+				sharesFile |= otherFrom % 8 == from % 8;
+				sharesRank |= otherFrom / 8 == from / 8;
+			}
+		}
+		san.append(pieceType);
+		if (ambiguous) {
+			if (!sharesFile) {
+				san.append(fromTile.charAt(0));
+			} else if (!sharesRank) {
+				san.append(fromTile.charAt(1));
+			} else {
+				san.append(fromTile);
+			}
+		}
+		if (move.isAttack()) {
+			san.append('x');
+		}
+		return san.append(BoardUtilities.getPositionAtCoordinate(move.getDestinationCoordinates())).toString();
+	}
+
+	private static int tilesKey(final int currentCoordinate, final int destinationCoordinate, final PieceType promotionType) {
+		return (currentCoordinate << 6 | destinationCoordinate) << 3 | (promotionType == null ? 7 : promotionType.ordinal());
+	}
+
+	private static PieceType promotionTypeOf(final Move move) {
+		return move instanceof PawnPromotionMove ? ((PawnPromotionMove) move).getPromotionPiece().getPieceType() : null;
+	}
+}
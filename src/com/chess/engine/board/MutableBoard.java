@@ -0,0 +1,621 @@
+package com.chess.engine.board;
+
+import java.util.Arrays;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.*;
+import com.chess.engine.pieces.Piece.PieceType;
+
+//A MutableBoard is a search board that plays and takes back moves in place instead of building a new Board per move.
+//Moves are ints packed by MoveEncoding and every makeMove pushes a small
+//UndoRecord that unmakeMove uses to restore the previous position. Board remains the immutable snapshot type;
+//a MutableBoard is created from a Board and can be turned back into one with toBoard()
+public final class MutableBoard {
+
+	public static final int MAX_MOVES = 256;
+
+	private static final int WHITE = 0;
+	private static final int BLACK = 1;
+	private static final int NO_SQUARE = -1;
+	private static final int PAWN = PieceType.PAWN.ordinal();
+
+	//Which moves generatePseudoLegalMoves produces
+	private static final int ALL_MOVES = 0;
+	private static final int CAPTURES_AND_PROMOTIONS = 1;
+	private static final int QUIET_MOVES = 2;
+
+	private final long[] pieceBitboards;
+	private final long[] allianceOccupancy;
+	private final int[] squares;
+	private int sideToMove;
+	private int enPassantSquare;	//The tile a pawn passed over with its last PawnJump, or NO_SQUARE
+	private int castlingRights;
+	private long zobristKey;
+	private long pawnKey;	//The Zobrist keys of the pawns alone, for caching pawn structure
+	//Running PieceSquareTables sums from white's point of view, and the game phase
+	private int midgameScore;
+	private int endgameScore;
+	private int phase;
+	private UndoRecord[] history;
+	private int historySize;
+	private final LegalityMasks legalityMasks = new LegalityMasks();
+	private final int[] castlingMoves = new int[2];
+
+	public MutableBoard(final Board board) {
+		this.pieceBitboards = new long[BitBoard.NUM_PIECE_INDICES];
+		this.allianceOccupancy = new long[2];
+		this.squares = new int[BoardUtilities.NUM_TILES];
+		Arrays.fill(this.squares, BitBoard.NO_PIECE);
+		for (int i = 0; i < BoardUtilities.NUM_TILES; i++) {
+			final Piece piece = board.getPiece(i);
+			if (piece != null) {
+				addPiece(i, BitBoard.pieceIndex(piece));
+			}
+		}
+		this.sideToMove = board.getNextMoveMaker().ordinal();
+		final Pawn enPassantPawn = board.getEnPassantPawn();
+		this.enPassantSquare = enPassantPawn == null ? NO_SQUARE :
+			enPassantPawn.getPiecePosition() + 8 * enPassantPawn.getPieceAlliance().getOppositeDirection();
+		this.castlingRights = board.getCastlingRights();
+		this.zobristKey ^= Zobrist.castlingKey(this.castlingRights);
+		if (this.enPassantSquare != NO_SQUARE) {
+			this.zobristKey ^= Zobrist.enPassantKey(this.enPassantSquare);
+		}
+		if (this.sideToMove == BLACK) {
+			this.zobristKey ^= Zobrist.blackToMoveKey();
+		}
+		this.history = createHistory(MAX_MOVES);
+		this.historySize = 0;
+	}
+
+	//Copies the position (but not the move history) of another MutableBoard
+	public MutableBoard(final MutableBoard other) {
+		this.pieceBitboards = other.pieceBitboards.clone();
+		this.allianceOccupancy = other.allianceOccupancy.clone();
+		this.squares = other.squares.clone();
+		this.sideToMove = other.sideToMove;
+		this.enPassantSquare = other.enPassantSquare;
+		this.castlingRights = other.castlingRights;
+		this.zobristKey = other.zobristKey;
+		this.pawnKey = other.pawnKey;
+		this.midgameScore = other.midgameScore;
+		this.endgameScore = other.endgameScore;
+		this.phase = other.phase;
+		this.history = createHistory(MAX_MOVES);
+		this.historySize = 0;
+	}
+
+	public Alliance getSideToMove() {
+		return this.sideToMove == WHITE ? Alliance.WHITE : Alliance.BLACK;
+	}
+
+	public int getPieceIndex(final int coordinate) {
+		return this.squares[coordinate];
+	}
+
+	public long getPieces(final int pieceIndex) {
+		return this.pieceBitboards[pieceIndex];
+	}
+
+	public long getOccupancy(final Alliance alliance) {
+		return this.allianceOccupancy[alliance.ordinal()];
+	}
+
+	public long getOccupancy() {
+		return this.allianceOccupancy[WHITE] | this.allianceOccupancy[BLACK];
+	}
+
+	public int getEnPassantSquare() {
+		return this.enPassantSquare;
+	}
+
+	public int getCastlingRights() {
+		return this.castlingRights;
+	}
+
+	//Matches Board.getZobristKey for the same position
+	public long getZobristKey() {
+		return this.zobristKey;
+	}
+
+	public long getPawnKey() {
+		return this.pawnKey;
+	}
+
+	//Material plus piece-square values in centipawns, from white's point of view
+	public int getMidgameScore() {
+		return this.midgameScore;
+	}
+
+	public int getEndgameScore() {
+		return this.endgameScore;
+	}
+
+	public int getPhase() {
+		return this.phase;
+	}
+
+	public boolean isInCheck() {
+		return isKingAttacked(this.sideToMove);
+	}
+
+	public boolean isSquareAttacked(final int coordinate, final Alliance byAlliance) {
+		return isAttackedBy(coordinate, byAlliance.ordinal());
+	}
+
+	//The number of tiles the knights, bishops, rooks, queens and king of an alliance could move to, ignoring pins
+	public int countMobility(final Alliance alliance) {
+		final int side = alliance.ordinal();
+		final long own = this.allianceOccupancy[side];
+		final long occupancy = getOccupancy();
+		int mobility = 0;
+		long pieces = own & ~this.pieceBitboards[pieceIndex(side, PieceType.PAWN)];
+		while (pieces != 0) {
+			final int from = BitBoard.lowestSquare(pieces);
+			pieces &= pieces - 1;
+			mobility += BitBoard.bitCount(attacks(from, this.squares[from] % BitBoard.NUM_PIECE_TYPES, occupancy) & ~own);
+		}
+		return mobility;
+	}
+
+	//The tiles a knight, bishop, rook, queen or king on a tile attacks
+	private static long attacks(final int from, final int pieceType, final long occupancy) {
+		if (pieceType == PieceType.KNIGHT.ordinal()) {
+			return AttackTables.knightAttacks(from);
+		} else if (pieceType == PieceType.BISHOP.ordinal()) {
+			return AttackTables.bishopAttacks(from, occupancy);
+		} else if (pieceType == PieceType.ROOK.ordinal()) {
+			return AttackTables.rookAttacks(from, occupancy);
+		} else if (pieceType == PieceType.QUEEN.ordinal()) {
+			return AttackTables.queenAttacks(from, occupancy);
+		}
+		return AttackTables.kingAttacks(from);
+	}
+
+	//Plays a move on this board, recording what is needed to take it back
+	public void makeMove(final int move) {
+		final int from = MoveEncoding.getFrom(move);
+		final int to = MoveEncoding.getTo(move);
+		final int flag = MoveEncoding.getFlag(move);
+		final int movedPiece = this.squares[from];
+
+		final UndoRecord undo = pushUndoRecord();
+		undo.move = move;
+		undo.castlingRights = this.castlingRights;
+		undo.enPassantSquare = this.enPassantSquare;
+		undo.zobristKey = this.zobristKey;
+
+		final int capturedSquare = flag == MoveEncoding.EN_PASSANT ? enPassantCaptureSquare(to) : to;
+		undo.capturedPiece = this.squares[capturedSquare];
+		if (undo.capturedPiece != BitBoard.NO_PIECE) {
+			removePiece(capturedSquare);
+		}
+
+		removePiece(from);
+		addPiece(to, flag >= MoveEncoding.PROMOTE_KNIGHT ? promotionPieceIndex(flag) : movedPiece);
+
+		if (flag == MoveEncoding.KING_SIDE_CASTLE) {
+			removePiece(to + 1);
+			addPiece(to - 1, pieceIndex(this.sideToMove, PieceType.ROOK));
+		} else if (flag == MoveEncoding.QUEEN_SIDE_CASTLE) {
+			removePiece(to - 2);
+			addPiece(to + 1, pieceIndex(this.sideToMove, PieceType.ROOK));
+		}
+
+		//Pieces are hashed in and out by addPiece and removePiece; the rest of the key is updated here
+		long key = this.zobristKey ^ Zobrist.blackToMoveKey() ^ Zobrist.castlingKey(this.castlingRights);
+		if (this.enPassantSquare != NO_SQUARE) {
+			key ^= Zobrist.enPassantKey(this.enPassantSquare);
+		}
+		this.castlingRights = BoardUtilities.updateCastlingRights(this.castlingRights, from, to);
+		this.enPassantSquare = flag == MoveEncoding.PAWN_JUMP ? (from + to) / 2 : NO_SQUARE;
+		if (this.enPassantSquare != NO_SQUARE) {
+			key ^= Zobrist.enPassantKey(this.enPassantSquare);
+		}
+		this.zobristKey = key ^ Zobrist.castlingKey(this.castlingRights);
+		this.sideToMove ^= 1;
+	}
+
+	//Takes back the last move played with makeMove
+	public void unmakeMove() {
+		final UndoRecord undo = this.history[--this.historySize];
+		this.sideToMove ^= 1;
+		final int move = undo.move;
+		final int from = MoveEncoding.getFrom(move);
+		final int to = MoveEncoding.getTo(move);
+		final int flag = MoveEncoding.getFlag(move);
+
+		if (flag == MoveEncoding.KING_SIDE_CASTLE) {
+			removePiece(to - 1);
+			addPiece(to + 1, pieceIndex(this.sideToMove, PieceType.ROOK));
+		} else if (flag == MoveEncoding.QUEEN_SIDE_CASTLE) {
+			removePiece(to + 1);
+			addPiece(to - 2, pieceIndex(this.sideToMove, PieceType.ROOK));
+		}
+
+		final int movedPiece = flag >= MoveEncoding.PROMOTE_KNIGHT ? pieceIndex(this.sideToMove, PieceType.PAWN) : this.squares[to];
+		removePiece(to);
+		addPiece(from, movedPiece);
+
+		if (undo.capturedPiece != BitBoard.NO_PIECE) {
+			addPiece(flag == MoveEncoding.EN_PASSANT ? enPassantCaptureSquare(to) : to, undo.capturedPiece);
+		}
+		this.castlingRights = undo.castlingRights;
+		this.enPassantSquare = undo.enPassantSquare;
+		this.zobristKey = undo.zobristKey;
+	}
+
+	//Passes the turn to the other side without moving a piece, for null-move pruning. Must not be played when the side
+	//to move is in check, and is taken back with unmakeNullMove
+	public void makeNullMove() {
+		final UndoRecord undo = pushUndoRecord();
+		undo.move = MoveEncoding.NO_MOVE;
+		undo.castlingRights = this.castlingRights;
+		undo.enPassantSquare = this.enPassantSquare;
+		undo.zobristKey = this.zobristKey;
+		undo.capturedPiece = BitBoard.NO_PIECE;
+
+		long key = this.zobristKey ^ Zobrist.blackToMoveKey();
+		if (this.enPassantSquare != NO_SQUARE) {
+			key ^= Zobrist.enPassantKey(this.enPassantSquare);
+		}
+		this.enPassantSquare = NO_SQUARE;
+		this.zobristKey = key;
+		this.sideToMove ^= 1;
+	}
+
+	public void unmakeNullMove() {
+		final UndoRecord undo = this.history[--this.historySize];
+		this.sideToMove ^= 1;
+		this.enPassantSquare = undo.enPassantSquare;
+		this.zobristKey = undo.zobristKey;
+	}
+
+	//Whether a side has any piece besides its king and pawns. Positions where it does not are the ones where passing
+	//the turn would often be better than any move, so null-move pruning is not safe there
+	public boolean hasNonPawnMaterial(final Alliance alliance) {
+		final int side = alliance.ordinal();
+		final long kingAndPawns = this.pieceBitboards[pieceIndex(side, PieceType.KING)] | this.pieceBitboards[pieceIndex(side, PieceType.PAWN)];
+		return (this.allianceOccupancy[side] & ~kingAndPawns) != 0;
+	}
+
+	//Plays a Move generated by a Board whose position matches this board
+	public void makeMove(final Move move) {
+		makeMove(MoveEncoding.fromMove(move));
+	}
+
+	//Fills the buffer with every legal move in the position and returns how many were written. Pseudo-legal moves are
+	//checked against the pins and checks of the position, without making any of them
+	public int generateLegalMoves(final int[] moves) {
+		return filterLegalMoves(moves, generatePseudoLegalMoves(moves, ALL_MOVES));
+	}
+
+	//Like generateLegalMoves, but only captures (including en passant) and promotions
+	public int generateCapturesAndPromotions(final int[] moves) {
+		return filterLegalMoves(moves, generatePseudoLegalMoves(moves, CAPTURES_AND_PROMOTIONS));
+	}
+
+	//The legal moves generateCapturesAndPromotions leaves out: quiet moves, pawn pushes and jumps, and castling
+	public int generateQuietMoves(final int[] moves) {
+		return filterLegalMoves(moves, generatePseudoLegalMoves(moves, QUIET_MOVES));
+	}
+
+	//Turns the from tile, destination tile and flag of a move (MoveEncoding.shortMove) into the full move if it is legal
+	//in this position, or MoveEncoding.NO_MOVE. Moves from the transposition table or from another position at the
+	//same ply are checked this way before searching them, without generating the moves of the position
+	public int toLegalMove(final int shortMove) {
+		final int from = MoveEncoding.getFrom(shortMove);
+		final int to = MoveEncoding.getTo(shortMove);
+		final int flag = MoveEncoding.getFlag(shortMove);
+		final int piece = this.squares[from];
+		if (shortMove == MoveEncoding.NO_MOVE || piece == BitBoard.NO_PIECE || piece / BitBoard.NUM_PIECE_TYPES != this.sideToMove
+				|| (this.allianceOccupancy[this.sideToMove] & BitBoard.squareMask(to)) != 0) {
+			return MoveEncoding.NO_MOVE;
+		}
+		final int pieceType = piece % BitBoard.NUM_PIECE_TYPES;
+		final boolean isPseudoLegal;
+		if (MoveEncoding.isCastle(shortMove)) {
+			//Castling generation already checks every tile the king crosses
+			final int count = pieceType == PieceType.KING.ordinal() ? generateCastlingMoves(from, this.sideToMove, this.castlingMoves, 0) : 0;
+			for (int i = 0; i < count; i++) {
+				if (MoveEncoding.isSameMove(this.castlingMoves[i], shortMove)) {
+					return this.castlingMoves[i];
+				}
+			}
+			return MoveEncoding.NO_MOVE;
+		} else if (pieceType == PAWN) {
+			isPseudoLegal = isPseudoLegalPawnMove(from, to, flag);
+		} else {
+			isPseudoLegal = flag == MoveEncoding.QUIET_MOVE && (attacks(from, pieceType, getOccupancy()) & BitBoard.squareMask(to)) != 0;
+		}
+		if (!isPseudoLegal) {
+			return MoveEncoding.NO_MOVE;
+		}
+		this.legalityMasks.update(this.pieceBitboards, this.sideToMove, getOccupancy());
+		if (!this.legalityMasks.isLegal(from, to, pieceType == PieceType.KING.ordinal(), flag == MoveEncoding.EN_PASSANT)) {
+			return MoveEncoding.NO_MOVE;
+		}
+		return encode(from, to, flag);
+	}
+
+	private boolean isPseudoLegalPawnMove(final int from, final int to, final int flag) {
+		final int forward = this.sideToMove == WHITE ? -8 : 8;
+		final long toMask = BitBoard.squareMask(to);
+		final boolean isCapture = (AttackTables.pawnAttacks(this.sideToMove, from) & toMask) != 0;
+		if (flag == MoveEncoding.EN_PASSANT) {
+			return isCapture && to == this.enPassantSquare;
+		}
+		if (flag == MoveEncoding.PAWN_JUMP) {
+			final int startRow = this.sideToMove == WHITE ? 6 : 1;
+			return from / 8 == startRow && to == from + 2 * forward
+					&& (getOccupancy() & (BitBoard.squareMask(from + forward) | toMask)) == 0;
+		}
+		final boolean isPromotion = flag >= MoveEncoding.PROMOTE_KNIGHT && flag <= MoveEncoding.PROMOTE_QUEEN;
+		//A pawn reaching the last row must promote, and only a pawn reaching it may
+		if ((flag != MoveEncoding.QUIET_MOVE && !isPromotion) || isPromotionSquare(to) != isPromotion) {
+			return false;
+		}
+		if (isCapture) {
+			return (this.allianceOccupancy[this.sideToMove ^ 1] & toMask) != 0;
+		}
+		return to == from + forward && (getOccupancy() & toMask) == 0;
+	}
+
+	private int filterLegalMoves(final int[] moves, final int pseudoLegalCount) {
+		final int king = pieceIndex(this.sideToMove, PieceType.KING);
+		this.legalityMasks.update(this.pieceBitboards, this.sideToMove, getOccupancy());
+		int legalCount = 0;
+		for (int i = 0; i < pseudoLegalCount; i++) {
+			final int move = moves[i];
+			if (this.legalityMasks.isLegal(MoveEncoding.getFrom(move), MoveEncoding.getTo(move),
+					MoveEncoding.getMovedPiece(move) == king, MoveEncoding.getFlag(move) == MoveEncoding.EN_PASSANT)) {
+				moves[legalCount++] = move;
+			}
+		}
+		return legalCount;
+	}
+
+	private int generatePseudoLegalMoves(final int[] moves, final int moveType) {
+		final int side = this.sideToMove;
+		final long own = this.allianceOccupancy[side];
+		final long enemy = this.allianceOccupancy[side ^ 1];
+		final long occupancy = own | enemy;
+		final long targets = moveType == ALL_MOVES ? ~own : moveType == QUIET_MOVES ? ~occupancy : enemy;
+		int count = 0;
+
+		long pieces = own;
+		while (pieces != 0) {
+			final int from = BitBoard.lowestSquare(pieces);
+			pieces &= pieces - 1;
+			final int pieceType = this.squares[from] % BitBoard.NUM_PIECE_TYPES;
+			if (pieceType == PieceType.PAWN.ordinal()) {
+				count = generatePawnMoves(from, side, enemy, moveType, moves, count);
+				continue;
+			}
+			count = generateTargetMoves(from, attacks(from, pieceType, occupancy) & targets, moves, count);
+			if (pieceType == PieceType.KING.ordinal() && moveType != CAPTURES_AND_PROMOTIONS) {
+				count = generateCastlingMoves(from, side, moves, count);
+			}
+		}
+		return count;
+	}
+
+	//Pushes onto the last row are promotions, so they belong with the captures rather than the quiet moves
+	private int generatePawnMoves(final int from, final int side, final long enemy, final int moveType, final int[] moves,
+			int count) {
+		final int forward = side == WHITE ? -8 : 8;
+		final int startRow = side == WHITE ? 6 : 1;
+		final int oneStep = from + forward;
+		final long occupancy = getOccupancy();
+		if ((occupancy & BitBoard.squareMask(oneStep)) == 0) {
+			final boolean isPromotion = isPromotionSquare(oneStep);
+			if (moveType == ALL_MOVES || (moveType == QUIET_MOVES) != isPromotion) {
+				count = addPawnMove(from, oneStep, moves, count);
+			}
+			final int twoSteps = oneStep + forward;
+			if (moveType != CAPTURES_AND_PROMOTIONS && from / 8 == startRow && (occupancy & BitBoard.squareMask(twoSteps)) == 0) {
+				moves[count++] = encode(from, twoSteps, MoveEncoding.PAWN_JUMP);
+			}
+		}
+		if (moveType == QUIET_MOVES) {
+			return count;
+		}
+		final long attacks = AttackTables.pawnAttacks(side, from);
+		long captures = attacks & enemy;
+		while (captures != 0) {
+			count = addPawnMove(from, BitBoard.lowestSquare(captures), moves, count);
+			captures &= captures - 1;
+		}
+		if (this.enPassantSquare != NO_SQUARE && (attacks & BitBoard.squareMask(this.enPassantSquare)) != 0) {
+			moves[count++] = encode(from, this.enPassantSquare, MoveEncoding.EN_PASSANT);
+		}
+		return count;
+	}
+
+	private int addPawnMove(final int from, final int to, final int[] moves, int count) {
+		if (isPromotionSquare(to)) {
+			moves[count++] = encode(from, to, MoveEncoding.PROMOTE_QUEEN);
+			moves[count++] = encode(from, to, MoveEncoding.PROMOTE_KNIGHT);
+			moves[count++] = encode(from, to, MoveEncoding.PROMOTE_ROOK);
+			moves[count++] = encode(from, to, MoveEncoding.PROMOTE_BISHOP);
+		} else {
+			moves[count++] = encode(from, to, MoveEncoding.QUIET_MOVE);
+		}
+		return count;
+	}
+
+	private static boolean isPromotionSquare(final int square) {
+		return square < 8 || square > 55;
+	}
+
+	//Fills in the moved and captured pieces from the position
+	private int encode(final int from, final int to, final int flag) {
+		final int capturedPiece = flag == MoveEncoding.EN_PASSANT ? this.squares[enPassantCaptureSquare(to)] : this.squares[to];
+		return MoveEncoding.createMove(from, to, flag, this.squares[from], capturedPiece);
+	}
+
+	private int generateTargetMoves(final int from, long targets, final int[] moves, int count) {
+		while (targets != 0) {
+			moves[count++] = encode(from, BitBoard.lowestSquare(targets), MoveEncoding.QUIET_MOVE);
+			targets &= targets - 1;
+		}
+		return count;
+	}
+
+	private int generateCastlingMoves(final int from, final int side, final int[] moves, int count) {
+		final int kingSide = side == WHITE ? BoardUtilities.WHITE_KING_SIDE : BoardUtilities.BLACK_KING_SIDE;
+		final int queenSide = side == WHITE ? BoardUtilities.WHITE_QUEEN_SIDE : BoardUtilities.BLACK_QUEEN_SIDE;
+		if ((this.castlingRights & (kingSide | queenSide)) == 0 || isAttackedBy(from, side ^ 1)) {
+			return count;
+		}
+		final long occupancy = getOccupancy();
+		if ((this.castlingRights & kingSide) != 0
+				&& (occupancy & (BitBoard.squareMask(from + 1) | BitBoard.squareMask(from + 2))) == 0
+				&& !isAttackedBy(from + 1, side ^ 1) && !isAttackedBy(from + 2, side ^ 1)) {
+			moves[count++] = encode(from, from + 2, MoveEncoding.KING_SIDE_CASTLE);
+		}
+		if ((this.castlingRights & queenSide) != 0
+				&& (occupancy & (BitBoard.squareMask(from - 1) | BitBoard.squareMask(from - 2) | BitBoard.squareMask(from - 3))) == 0
+				&& !isAttackedBy(from - 1, side ^ 1) && !isAttackedBy(from - 2, side ^ 1)) {
+			moves[count++] = encode(from, from - 2, MoveEncoding.QUEEN_SIDE_CASTLE);
+		}
+		return count;
+	}
+
+	private boolean isKingAttacked(final int side) {
+		final long king = this.pieceBitboards[pieceIndex(side, PieceType.KING)];
+		return king != 0 && isAttackedBy(BitBoard.lowestSquare(king), side ^ 1);
+	}
+
+	private boolean isAttackedBy(final int square, final int attacker) {
+		//A pawn of the defending side on this tile would attack exactly the tiles an attacking pawn could attack it from
+		if ((AttackTables.pawnAttacks(attacker ^ 1, square) & this.pieceBitboards[pieceIndex(attacker, PieceType.PAWN)]) != 0
+				|| (AttackTables.knightAttacks(square) & this.pieceBitboards[pieceIndex(attacker, PieceType.KNIGHT)]) != 0
+				|| (AttackTables.kingAttacks(square) & this.pieceBitboards[pieceIndex(attacker, PieceType.KING)]) != 0) {
+			return true;
+		}
+		final long occupancy = getOccupancy();
+		final long queens = this.pieceBitboards[pieceIndex(attacker, PieceType.QUEEN)];
+		final long rooks = this.pieceBitboards[pieceIndex(attacker, PieceType.ROOK)] | queens;
+		final long bishops = this.pieceBitboards[pieceIndex(attacker, PieceType.BISHOP)] | queens;
+		return (rooks != 0 && (AttackTables.rookAttacks(square, occupancy) & rooks) != 0)
+				|| (bishops != 0 && (AttackTables.bishopAttacks(square, occupancy) & bishops) != 0);
+	}
+
+	//The pawn captured en passant sits behind the destination tile from the mover's point of view
+	private int enPassantCaptureSquare(final int to) {
+		return this.sideToMove == WHITE ? to + 8 : to - 8;
+	}
+
+	private int promotionPieceIndex(final int flag) {
+		switch (flag) {
+			case MoveEncoding.PROMOTE_KNIGHT:
+				return pieceIndex(this.sideToMove, PieceType.KNIGHT);
+			case MoveEncoding.PROMOTE_BISHOP:
+				return pieceIndex(this.sideToMove, PieceType.BISHOP);
+			case MoveEncoding.PROMOTE_ROOK:
+				return pieceIndex(this.sideToMove, PieceType.ROOK);
+			default:
+				return pieceIndex(this.sideToMove, PieceType.QUEEN);
+		}
+	}
+
+	private void addPiece(final int square, final int pieceIndex) {
+		final long mask = BitBoard.squareMask(square);
+		this.squares[square] = pieceIndex;
+		this.pieceBitboards[pieceIndex] |= mask;
+		this.allianceOccupancy[pieceIndex / BitBoard.NUM_PIECE_TYPES] |= mask;
+		this.zobristKey ^= Zobrist.pieceKey(pieceIndex, square);
+		if (pieceIndex % BitBoard.NUM_PIECE_TYPES == PAWN) {
+			this.pawnKey ^= Zobrist.pieceKey(pieceIndex, square);
+		}
+		this.midgameScore += PieceSquareTables.midgameValue(pieceIndex, square);
+		this.endgameScore += PieceSquareTables.endgameValue(pieceIndex, square);
+		this.phase += PieceSquareTables.phaseWeight(pieceIndex);
+	}
+
+	private void removePiece(final int square) {
+		final long mask = ~BitBoard.squareMask(square);
+		final int pieceIndex = this.squares[square];
+		this.squares[square] = BitBoard.NO_PIECE;
+		this.pieceBitboards[pieceIndex] &= mask;
+		this.allianceOccupancy[pieceIndex / BitBoard.NUM_PIECE_TYPES] &= mask;
+		this.zobristKey ^= Zobrist.pieceKey(pieceIndex, square);
+		if (pieceIndex % BitBoard.NUM_PIECE_TYPES == PAWN) {
+			this.pawnKey ^= Zobrist.pieceKey(pieceIndex, square);
+		}
+		this.midgameScore -= PieceSquareTables.midgameValue(pieceIndex, square);
+		this.endgameScore -= PieceSquareTables.endgameValue(pieceIndex, square);
+		this.phase -= PieceSquareTables.phaseWeight(pieceIndex);
+	}
+
+	private UndoRecord pushUndoRecord() {
+		if (this.historySize == this.history.length) {
+			final int oldLength = this.history.length;
+			this.history = Arrays.copyOf(this.history, oldLength * 2);
+			for (int i = oldLength; i < this.history.length; i++) {
+				this.history[i] = new UndoRecord();
+			}
+		}
+		return this.history[this.historySize++];
+	}
+
+	private static UndoRecord[] createHistory(final int size) {
+		final UndoRecord[] history = new UndoRecord[size];
+		for (int i = 0; i < size; i++) {
+			history[i] = new UndoRecord();
+		}
+		return history;
+	}
+
+	private static int pieceIndex(final int side, final PieceType pieceType) {
+		return side * BitBoard.NUM_PIECE_TYPES + pieceType.ordinal();
+	}
+
+	//Builds the immutable Board for the current position
+	public Board toBoard() {
+		final Board.Builder builder = new Board.Builder();
+		for (int i = 0; i < BoardUtilities.NUM_TILES; i++) {
+			if (this.squares[i] != BitBoard.NO_PIECE) {
+				builder.setPiece(createPiece(i, this.squares[i]));
+			}
+		}
+		if (this.enPassantSquare != NO_SQUARE) {
+			final int pawnSquare = this.sideToMove == BLACK ? this.enPassantSquare - 8 : this.enPassantSquare + 8;
+			builder.setEnPassantPawn((Pawn) builder.boardConfiguration[pawnSquare]);
+		}
+		builder.setMoveMaker(getSideToMove());
+		return builder.build();
+	}
+
+	private Piece createPiece(final int square, final int pieceIndex) {
+		final Alliance alliance = pieceIndex < BitBoard.NUM_PIECE_TYPES ? Alliance.WHITE : Alliance.BLACK;
+		final boolean white = alliance.isWhite();
+		switch (PieceType.values()[pieceIndex % BitBoard.NUM_PIECE_TYPES]) {
+			case PAWN:
+				return new Pawn(square, alliance, square / 8 == (white ? 6 : 1));
+			case KNIGHT:
+				return new Knight(square, alliance);
+			case BISHOP:
+				return new Bishop(square, alliance);
+			case ROOK:
+				final boolean kingSideRook = square == (white ? 63 : 7) && (this.castlingRights & (white ? BoardUtilities.WHITE_KING_SIDE : BoardUtilities.BLACK_KING_SIDE)) != 0;
+				final boolean queenSideRook = square == (white ? 56 : 0) && (this.castlingRights & (white ? BoardUtilities.WHITE_QUEEN_SIDE : BoardUtilities.BLACK_QUEEN_SIDE)) != 0;
+				return new Rook(square, alliance, kingSideRook || queenSideRook);
+			case QUEEN:
+				return new Queen(square, alliance);
+			default:
+				final int rights = white ? BoardUtilities.WHITE_KING_SIDE | BoardUtilities.WHITE_QUEEN_SIDE : BoardUtilities.BLACK_KING_SIDE | BoardUtilities.BLACK_QUEEN_SIDE;
+				return new King(square, alliance, (this.castlingRights & rights) != 0);
+		}
+	}
+
+	//The information lost by a move that is needed to take it back
+	static final class UndoRecord {
+		int move;
+		int capturedPiece;
+		int castlingRights;
+		int enPassantSquare;
+		long zobristKey;
+	}
+}
@@ -0,0 +1,150 @@
+package com.chess.engine.board;
+
+//Material and piece-square values in centipawns, one table for the middlegame and one for the endgame. Every entry
+//already includes the piece's material value and is signed from white's point of view (black pieces count negative),
+//so the score of a position is the sum of the entries of its pieces. Like Zobrist keys, MutableBoard keeps those sums
+//up to date as pieces are added and removed instead of adding them up at every leaf.
+//The two sums are blended by game phase, which falls from MAX_PHASE with all minor and major pieces on the board to 0
+//when only kings and pawns remain
+public final class PieceSquareTables {
+
+	public static final int MAX_PHASE = 24;
+
+	//Indexed by piece type: pawn, knight, bishop, rook, queen, king
+	private static final int[] MIDGAME_VALUES = { 82, 337, 365, 477, 1025, 0 };
+	private static final int[] ENDGAME_VALUES = { 94, 281, 297, 512, 936, 0 };
+	private static final int[] PHASE_WEIGHTS = { 0, 1, 1, 2, 4, 0 };
+
+	//Tables are written as white sees the board, with the 8th rank first, so tile n is entry n for white.
+	//Black reads the table mirrored top to bottom
+	private static final int[] PAWN_MIDGAME = {
+		  0,   0,   0,   0,   0,   0,   0,   0,
+		 50,  50,  50,  50,  50,  50,  50,  50,
+		 10,  10,  20,  30,  30,  20,  10,  10,
+		  5,   5,  10,  25,  25,  10,   5,   5,
+		  0,   0,   0,  20,  20,   0,   0,   0,
+		  5,  -5, -10,   0,   0, -10,  -5,   5,
+		  5,  10,  10, -20, -20,  10,  10,   5,
+		  0,   0,   0,   0,   0,   0,   0,   0
+	};
+
+	private static final int[] PAWN_ENDGAME = {
+		  0,   0,   0,   0,   0,   0,   0,   0,
+		 80,  80,  80,  80,  80,  80,  80,  80,
+		 50,  50,  50,  50,  50,  50,  50,  50,
+		 30,  30,  30,  30,  30,  30,  30,  30,
+		 15,  15,  15,  15,  15,  15,  15,  15,
+		  5,   5,   5,   5,   5,   5,   5,   5,
+		  0,   0,   0,   0,   0,   0,   0,   0,
+		  0,   0,   0,   0,   0,   0,   0,   0
+	};
+
+	private static final int[] KNIGHT = {
+		-50, -40, -30, -30, -30, -30, -40, -50,
+		-40, -20,   0,   0,   0,   0, -20, -40,
+		-30,   0,  10,  15,  15,  10,   0, -30,
+		-30,   5,  15,  20,  20,  15,   5, -30,
+		-30,   0,  15,  20,  20,  15,   0, -30,
+		-30,   5,  10,  15,  15,  10,   5, -30,
+		-40, -20,   0,   5,   5,   0, -20, -40,
+		-50, -40, -30, -30, -30, -30, -40, -50
+	};
+
+	private static final int[] BISHOP = {
+		-20, -10, -10, -10, -10, -10, -10, -20,
+		-10,   0,   0,   0,   0,   0,   0, -10,
+		-10,   0,   5,  10,  10,   5,   0, -10,
+		-10,   5,   5,  10,  10,   5,   5, -10,
+		-10,   0,  10,  10,  10,  10,   0, -10,
+		-10,  10,  10,  10,  10,  10,  10, -10,
+		-10,   5,   0,   0,   0,   0,   5, -10,
+		-20, -10, -10, -10, -10, -10, -10, -20
+	};
+
+	private static final int[] ROOK = {
+		  0,   0,   0,   0,   0,   0,   0,   0,
+		  5,  10,  10,  10,  10,  10,  10,   5,
+		 -5,   0,   0,   0,   0,   0,   0,  -5,
+		 -5,   0,   0,   0,   0,   0,   0,  -5,
+		 -5,   0,   0,   0,   0,   0,   0,  -5,
+		 -5,   0,   0,   0,   0,   0,   0,  -5,
+		 -5,   0,   0,   0,   0,   0,   0,  -5,
+		  0,   0,   0,   5,   5,   0,   0,   0
+	};
+
+	private static final int[] QUEEN = {
+		-20, -10, -10,  -5,  -5, -10, -10, -20,
+		-10,   0,   0,   0,   0,   0,   0, -10,
+		-10,   0,   5,   5,   5,   5,   0, -10,
+		 -5,   0,   5,   5,   5,   5,   0,  -5,
+		  0,   0,   5,   5,   5,   5,   0,  -5,
+		-10,   5,   5,   5,   5,   5,   0, -10,
+		-10,   0,   5,   0,   0,   0,   0, -10,
+		-20, -10, -10,  -5,  -5, -10, -10, -20
+	};
+
+	//The king shelters behind its pawns while queens are about, and walks to the centre once they are gone
+	private static final int[] KING_MIDGAME = {
+		-30, -40, -40, -50, -50, -40, -40, -30,
+		-30, -40, -40, -50, -50, -40, -40, -30,
+		-30, -40, -40, -50, -50, -40, -40, -30,
+		-30, -40, -40, -50, -50, -40, -40, -30,
+		-20, -30, -30, -40, -40, -30, -30, -20,
+		-10, -20, -20, -20, -20, -20, -20, -10,
+		 20,  20,   0,   0,   0,   0,  20,  20,
+		 20,  30,  10,   0,   0,  10,  30,  20
+	};
+
+	private static final int[] KING_ENDGAME = {
+		-50, -40, -30, -20, -20, -30, -40, -50,
+		-30, -20, -10,   0,   0, -10, -20, -30,
+		-30, -10,  20,  30,  30,  20, -10, -30,
+		-30, -10,  30,  40,  40,  30, -10, -30,
+		-30, -10,  30,  40,  40,  30, -10, -30,
+		-30, -10,  20,  30,  30,  20, -10, -30,
+		-30, -30,   0,   0,   0,   0, -30, -30,
+		-50, -30, -30, -30, -30, -30, -30, -50
+	};
+
+	private static final int[][] MIDGAME_TABLES = { PAWN_MIDGAME, KNIGHT, BISHOP, ROOK, QUEEN, KING_MIDGAME };
+	private static final int[][] ENDGAME_TABLES = { PAWN_ENDGAME, KNIGHT, BISHOP, ROOK, QUEEN, KING_ENDGAME };
+
+	//Indexed by BitBoard piece index, then tile
+	private static final int[][] MIDGAME = new int[BitBoard.NUM_PIECE_INDICES][BoardUtilities.NUM_TILES];
+	private static final int[][] ENDGAME = new int[BitBoard.NUM_PIECE_INDICES][BoardUtilities.NUM_TILES];
+
+	static {
+		for (int pieceType = 0; pieceType < BitBoard.NUM_PIECE_TYPES; pieceType++) {
+			final int blackPiece = pieceType + BitBoard.NUM_PIECE_TYPES;
+			for (int tile = 0; tile < BoardUtilities.NUM_TILES; tile++) {
+				MIDGAME[pieceType][tile] = MIDGAME_VALUES[pieceType] + MIDGAME_TABLES[pieceType][tile];
+				ENDGAME[pieceType][tile] = ENDGAME_VALUES[pieceType] + ENDGAME_TABLES[pieceType][tile];
+				//Flipping the row of a tile mirrors it top to bottom
+				MIDGAME[blackPiece][tile] = -(MIDGAME_VALUES[pieceType] + MIDGAME_TABLES[pieceType][tile ^ 56]);
+				ENDGAME[blackPiece][tile] = -(ENDGAME_VALUES[pieceType] + ENDGAME_TABLES[pieceType][tile ^ 56]);
+			}
+		}
+	}
+
+	private PieceSquareTables() {
+		throw new RuntimeException("Cannot instantiate object of type PieceSquareTables");
+	}
+
+	public static int midgameValue(final int pieceIndex, final int tile) {
+		return MIDGAME[pieceIndex][tile];
+	}
+
+	public static int endgameValue(final int pieceIndex, final int tile) {
+		return ENDGAME[pieceIndex][tile];
+	}
+
+	public static int phaseWeight(final int pieceIndex) {
+		return PHASE_WEIGHTS[pieceIndex % BitBoard.NUM_PIECE_TYPES];
+	}
+
+	//Blends a middlegame and an endgame score by phase. Promotions can take the phase above MAX_PHASE
+	public static int taper(final int midgameScore, final int endgameScore, final int phase) {
+		final int midgamePhase = Math.min(phase, MAX_PHASE);
+		return (midgameScore * midgamePhase + endgameScore * (MAX_PHASE - midgamePhase)) / MAX_PHASE;
+	}
+}
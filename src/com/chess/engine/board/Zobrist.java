@@ -0,0 +1,80 @@
+package com.chess.engine.board;
+
+import java.util.Random;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.pieces.Piece;
+
+//Zobrist hashing gives every position a 64-bit key made by XORing together one random number per piece on its tile,
+//one for black to move, one per set of castling rights and one per en passant file. Because XOR is its own inverse,
+//a move updates the key by XORing out what it removes and XORing in what it adds instead of rehashing the board
+public final class Zobrist {
+
+	//A fixed seed keeps keys identical between runs so they can be stored and compared across processes
+	private static final long SEED = 0x2545F4914F6CDD1DL;
+
+	private static final long[][] PIECE_KEYS = new long[BitBoard.NUM_PIECE_INDICES][BoardUtilities.NUM_TILES];
+	private static final long[] CASTLING_KEYS = new long[16];
+	private static final long[] EN_PASSANT_KEYS = new long[8];
+	private static final long BLACK_TO_MOVE_KEY;
+
+	static {
+		final Random random = new Random(SEED);
+		for (int i = 0; i < BitBoard.NUM_PIECE_INDICES; i++) {
+			for (int j = 0; j < BoardUtilities.NUM_TILES; j++) {
+				PIECE_KEYS[i][j] = random.nextLong();
+			}
+		}
+		//No castling rights hashes to zero so that positions without castling are unaffected
+		for (int i = 1; i < CASTLING_KEYS.length; i++) {
+			CASTLING_KEYS[i] = random.nextLong();
+		}
+		for (int i = 0; i < EN_PASSANT_KEYS.length; i++) {
+			EN_PASSANT_KEYS[i] = random.nextLong();
+		}
+		BLACK_TO_MOVE_KEY = random.nextLong();
+	}
+
+	private Zobrist() {
+		throw new RuntimeException("Cannot instantiate object of type Zobrist");
+	}
+
+	public static long pieceKey(final int pieceIndex, final int coordinate) {
+		return PIECE_KEYS[pieceIndex][coordinate];
+	}
+
+	public static long pieceKey(final Piece piece) {
+		return PIECE_KEYS[BitBoard.pieceIndex(piece)][piece.getPiecePosition()];
+	}
+
+	public static long castlingKey(final int castlingRights) {
+		return CASTLING_KEYS[castlingRights];
+	}
+
+	//The en passant key depends only on the column of the tile, so a pawn's tile or the tile it passed over both work
+	public static long enPassantKey(final int coordinate) {
+		return EN_PASSANT_KEYS[coordinate & 7];
+	}
+
+	public static long blackToMoveKey() {
+		return BLACK_TO_MOVE_KEY;
+	}
+
+	//Hashes a whole board from scratch
+	public static long calculateKey(final Board board) {
+		long key = 0L;
+		for (int i = 0; i < BoardUtilities.NUM_TILES; i++) {
+			final Piece piece = board.getPiece(i);
+			if (piece != null) {
+				key ^= pieceKey(piece);
+			}
+		}
+		if (board.getNextMoveMaker() == Alliance.BLACK) {
+			key ^= BLACK_TO_MOVE_KEY;
+		}
+		if (board.getEnPassantPawn() != null) {
+			key ^= enPassantKey(board.getEnPassantPawn().getPiecePosition());
+		}
+		return key ^ castlingKey(board.getCastlingRights());
+	}
+}
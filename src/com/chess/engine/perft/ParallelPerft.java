@@ -0,0 +1,139 @@
+package com.chess.engine.perft;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MutableBoard;
+import com.chess.engine.player.MoveTransition;
+
+//Runs perft on a ForkJoinPool by splitting the move tree into one task per move for the first splitDepth plies.
+//Boards are immutable, so the subtrees below each split move are independent; a MutableBoard is copied for each task.
+//Subtree counts are joined in move generation order, so the results are the same for any number of threads
+public final class ParallelPerft {
+
+	private ParallelPerft() {
+		throw new RuntimeException("Cannot instantiate object of type ParallelPerft");
+	}
+
+	public static long perft(final Board board, final int depth, final int splitDepth, final ForkJoinPool pool) {
+		return pool.invoke(new BoardPerftTask(board, depth, splitDepth));
+	}
+
+	public static long perft(final MutableBoard board, final int depth, final int splitDepth, final ForkJoinPool pool) {
+		return pool.invoke(new MutableBoardPerftTask(new MutableBoard(board), depth, splitDepth));
+	}
+
+	public static Map<String, Long> divide(final Board board, final int depth, final int splitDepth, final ForkJoinPool pool) {
+		final List<String> notations = new ArrayList<>();
+		final List<BoardPerftTask> tasks = new ArrayList<>();
+		for (final Move move : board.currentPlayer().getLegalMoves()) {
+			final MoveTransition transition = board.currentPlayer().makeMove(move);
+			if (transition.getMoveStatus().isDone()) {
+				notations.add(Perft.moveNotation(move));
+				tasks.add(new BoardPerftTask(transition.getBoard(), depth - 1, splitDepth - 1));
+			}
+		}
+		return joinAll(notations, tasks, pool);
+	}
+
+	public static Map<String, Long> divide(final MutableBoard board, final int depth, final int splitDepth, final ForkJoinPool pool) {
+		final List<String> notations = new ArrayList<>();
+		final List<MutableBoardPerftTask> tasks = new ArrayList<>();
+		final int[] moves = new int[MutableBoard.MAX_MOVES];
+		final int moveCount = board.generateLegalMoves(moves);
+		for (int i = 0; i < moveCount; i++) {
+			final MutableBoard child = new MutableBoard(board);
+			child.makeMove(moves[i]);
+			notations.add(Perft.moveNotation(moves[i]));
+			tasks.add(new MutableBoardPerftTask(child, depth - 1, splitDepth - 1));
+		}
+		return joinAll(notations, tasks, pool);
+	}
+
+	private static Map<String, Long> joinAll(final List<String> notations, final List<? extends RecursiveTask<Long>> tasks,
+			final ForkJoinPool pool) {
+		final Map<String, Long> counts = new LinkedHashMap<>();
+		for (final RecursiveTask<Long> task : tasks) {
+			pool.execute(task);
+		}
+		for (int i = 0; i < tasks.size(); i++) {
+			counts.put(notations.get(i), tasks.get(i).join());
+		}
+		return counts;
+	}
+
+	private static long sum(final List<? extends RecursiveTask<Long>> tasks) {
+		ForkJoinTask.invokeAll(tasks);
+		long nodes = 0;
+		for (final RecursiveTask<Long> task : tasks) {
+			nodes += task.join();
+		}
+		return nodes;
+	}
+
+	private static final class BoardPerftTask extends RecursiveTask<Long> {
+
+		private static final long serialVersionUID = 1L;
+		private final Board board;
+		private final int depth;
+		private final int splitDepth;
+
+		BoardPerftTask(final Board board, final int depth, final int splitDepth) {
+			this.board = board;
+			this.depth = depth;
+			this.splitDepth = splitDepth;
+		}
+
+		@Override
+		protected Long compute() {
+			if (this.splitDepth <= 0 || this.depth <= 1) {
+				return Perft.perft(this.board, this.depth);
+			}
+			final List<BoardPerftTask> subtasks = new ArrayList<>();
+			for (final Move move : this.board.currentPlayer().getLegalMoves()) {
+				final MoveTransition transition = this.board.currentPlayer().makeMove(move);
+				if (transition.getMoveStatus().isDone()) {
+					subtasks.add(new BoardPerftTask(transition.getBoard(), this.depth - 1, this.splitDepth - 1));
+				}
+			}
+			return sum(subtasks);
+		}
+	}
+
+	private static final class MutableBoardPerftTask extends RecursiveTask<Long> {
+
+		private static final long serialVersionUID = 1L;
+		private final MutableBoard board;
+		private final int depth;
+		private final int splitDepth;
+
+		MutableBoardPerftTask(final MutableBoard board, final int depth, final int splitDepth) {
+			this.board = board;
+			this.depth = depth;
+			this.splitDepth = splitDepth;
+		}
+
+		@Override
+		protected Long compute() {
+			if (this.splitDepth <= 0 || this.depth <= 1) {
+				return Perft.perft(this.board, this.depth);
+			}
+			final int[] moves = new int[MutableBoard.MAX_MOVES];
+			final int moveCount = this.board.generateLegalMoves(moves);
+			final List<MutableBoardPerftTask> subtasks = new ArrayList<>(moveCount);
+			for (int i = 0; i < moveCount; i++) {
+				final MutableBoard child = new MutableBoard(this.board);
+				child.makeMove(moves[i]);
+				subtasks.add(new MutableBoardPerftTask(child, this.depth - 1, this.splitDepth - 1));
+			}
+			return sum(subtasks);
+		}
+	}
+}
@@ -0,0 +1,179 @@
+package com.chess.engine.perft;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtilities;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveEncoding;
+import com.chess.engine.board.MutableBoard;
+import com.chess.engine.player.MoveTransition;
+
+//Perft counts the leaf nodes of the legal move tree to a fixed depth. Comparing the counts with the known values
+//of the reference positions validates move generation, and the time taken measures its throughput.
+//Usage: Perft [-divide] [-mutable] [-depth N] [-threads N] [-split N] [position]
+//Without a position every reference position is run. -mutable walks the tree with a MutableBoard instead of Boards.
+//With more than one thread the first -split plies (1 by default) are shared out over a ForkJoinPool
+public final class Perft {
+
+	private static final int DEFAULT_DEPTH = 3;
+	private static final int DEFAULT_SPLIT_DEPTH = 1;
+
+	private Perft() {
+		throw new RuntimeException("Cannot instantiate object of type Perft");
+	}
+
+	//Counts leaf nodes by playing every legal move through Player.makeMove
+	public static long perft(final Board board, final int depth) {
+		if (depth == 0) {
+			return 1;
+		}
+		long nodes = 0;
+		for (final Move move : board.currentPlayer().getLegalMoves()) {
+			final MoveTransition transition = board.currentPlayer().makeMove(move);
+			if (transition.getMoveStatus().isDone()) {
+				nodes += perft(transition.getBoard(), depth - 1);
+			}
+		}
+		return nodes;
+	}
+
+	//Returns the node count below each legal root move, keyed by the move in coordinate notation (e.g. e2e4)
+	public static Map<String, Long> divide(final Board board, final int depth) {
+		final Map<String, Long> counts = new LinkedHashMap<>();
+		for (final Move move : board.currentPlayer().getLegalMoves()) {
+			final MoveTransition transition = board.currentPlayer().makeMove(move);
+			if (transition.getMoveStatus().isDone()) {
+				counts.put(moveNotation(move), perft(transition.getBoard(), depth - 1));
+			}
+		}
+		return counts;
+	}
+
+	//Counts leaf nodes by making and unmaking moves on a single MutableBoard
+	public static long perft(final MutableBoard board, final int depth) {
+		return depth == 0 ? 1 : perft(board, depth, new int[depth][MutableBoard.MAX_MOVES]);
+	}
+
+	public static Map<String, Long> divide(final MutableBoard board, final int depth) {
+		final Map<String, Long> counts = new LinkedHashMap<>();
+		final int[][] moveBuffers = new int[depth][MutableBoard.MAX_MOVES];
+		final int moveCount = board.generateLegalMoves(moveBuffers[0]);
+		for (int i = 0; i < moveCount; i++) {
+			final int move = moveBuffers[0][i];
+			board.makeMove(move);
+			counts.put(moveNotation(move), depth == 1 ? 1 : perft(board, depth - 1, moveBuffers));
+			board.unmakeMove();
+		}
+		return counts;
+	}
+
+	//Each ply uses the buffer at index depth - 1 so the move lists above it are left untouched
+	private static long perft(final MutableBoard board, final int depth, final int[][] moveBuffers) {
+		final int[] moves = moveBuffers[depth - 1];
+		final int moveCount = board.generateLegalMoves(moves);
+		if (depth == 1) {
+			return moveCount;
+		}
+		long nodes = 0;
+		for (int i = 0; i < moveCount; i++) {
+			board.makeMove(moves[i]);
+			nodes += perft(board, depth - 1, moveBuffers);
+			board.unmakeMove();
+		}
+		return nodes;
+	}
+
+	static String moveNotation(final Move move) {
+		final String notation = BoardUtilities.getPositionAtCoordinate(move.getCurrentCoordinate())
+				+ BoardUtilities.getPositionAtCoordinate(move.getDestinationCoordinates());
+		if (move instanceof Move.PawnPromotionMove) {
+			return notation + ((Move.PawnPromotionMove) move).getPromotionPiece().toString().toLowerCase();
+		}
+		return notation;
+	}
+
+	static String moveNotation(final int move) {
+		return MoveEncoding.toString(move);
+	}
+
+	public static void main(final String[] args) {
+		boolean divide = false;
+		boolean mutable = false;
+		int depth = DEFAULT_DEPTH;
+		int threads = 1;
+		int splitDepth = DEFAULT_SPLIT_DEPTH;
+		PerftPosition selectedPosition = null;
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-divide")) {
+				divide = true;
+			} else if (args[i].equals("-mutable")) {
+				mutable = true;
+			} else if (args[i].equals("-depth")) {
+				depth = Integer.parseInt(args[++i]);
+			} else if (args[i].equals("-threads")) {
+				threads = Integer.parseInt(args[++i]);
+			} else if (args[i].equals("-split")) {
+				splitDepth = Integer.parseInt(args[++i]);
+			} else {
+				selectedPosition = PerftPosition.valueOf(args[i].toUpperCase());
+			}
+		}
+
+		final PerftPosition[] positions = selectedPosition == null ? PerftPosition.values() : new PerftPosition[] { selectedPosition };
+		final ForkJoinPool pool = threads > 1 ? new ForkJoinPool(threads) : null;
+		boolean passed = true;
+		for (final PerftPosition position : positions) {
+			passed &= run(position, depth, divide, mutable, pool, splitDepth);
+		}
+		if (pool != null) {
+			pool.shutdown();
+		}
+		if (!passed) {
+			System.exit(1);
+		}
+	}
+
+	private static boolean run(final PerftPosition position, final int depth, final boolean divide, final boolean mutable,
+			final ForkJoinPool pool, final int splitDepth) {
+		final Board board = position.createBoard();
+		final long start = System.nanoTime();
+		final long nodes;
+		if (divide) {
+			final Map<String, Long> counts;
+			if (pool != null) {
+				counts = mutable ? ParallelPerft.divide(new MutableBoard(board), depth, splitDepth, pool)
+						: ParallelPerft.divide(board, depth, splitDepth, pool);
+			} else {
+				counts = mutable ? divide(new MutableBoard(board), depth) : divide(board, depth);
+			}
+			long total = 0;
+			for (final Map.Entry<String, Long> entry : counts.entrySet()) {
+				System.out.println(entry.getKey() + ": " + entry.getValue());
+				total += entry.getValue();
+			}
+			nodes = total;
+		} else if (pool != null) {
+			nodes = mutable ? ParallelPerft.perft(new MutableBoard(board), depth, splitDepth, pool)
+					: ParallelPerft.perft(board, depth, splitDepth, pool);
+		} else {
+			nodes = mutable ? perft(new MutableBoard(board), depth) : perft(board, depth);
+		}
+		final long elapsedNanos = Math.max(1, System.nanoTime() - start);
+
+		final String result;
+		final boolean passed;
+		if (depth > position.getMaxDepth()) {
+			result = "(no reference count)";
+			passed = true;
+		} else {
+			passed = nodes == position.getExpectedNodes(depth);
+			result = passed ? "OK" : "FAILED, expected " + position.getExpectedNodes(depth);
+		}
+		System.out.println(String.format("%-16s depth %d  nodes %,d  time %,d ms  %,d nps  %s", position, depth, nodes,
+				elapsedNanos / 1000000, nodes * 1000000000L / elapsedNanos, result));
+		return passed;
+	}
+}
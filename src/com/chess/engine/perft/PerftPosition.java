@@ -0,0 +1,106 @@
+package com.chess.engine.perft;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtilities;
+import com.chess.engine.pieces.*;
+
+//The standard perft reference positions and their known node counts for depths 1, 2, 3...
+public enum PerftPosition {
+
+	INITIAL(Alliance.WHITE, "KQkq",
+			"Ke1 Qd1 Ra1 Rh1 Bc1 Bf1 Nb1 Ng1 Pa2 Pb2 Pc2 Pd2 Pe2 Pf2 Pg2 Ph2",
+			"Ke8 Qd8 Ra8 Rh8 Bc8 Bf8 Nb8 Ng8 Pa7 Pb7 Pc7 Pd7 Pe7 Pf7 Pg7 Ph7",
+			20L, 400L, 8902L, 197281L, 4865609L, 119060324L),
+	//Castling on both sides, pins, en passant and promotions all within a few plies
+	KIWIPETE(Alliance.WHITE, "KQkq",
+			"Ke1 Qf3 Ra1 Rh1 Bd2 Be2 Ne5 Nc3 Pd5 Pe4 Pa2 Pb2 Pc2 Pf2 Pg2 Ph2",
+			"Ke8 Qe7 Ra8 Rh8 Bg7 Ba6 Nb6 Nf6 Pa7 Pc7 Pd7 Pf7 Pe6 Pg6 Pb4 Ph3",
+			48L, 2039L, 97862L, 4085603L, 193690690L),
+	//En passant captures that expose the king along a row, and discovered checks
+	EN_PASSANT(Alliance.WHITE, "",
+			"Ka5 Rb4 Pb5 Pe2 Pg2",
+			"Kh4 Rh5 Pc7 Pd6 Pf4",
+			14L, 191L, 2812L, 43238L, 674624L, 11030083L),
+	//Capturing promotions and underpromotions with the white king already castled
+	PROMOTION(Alliance.WHITE, "kq",
+			"Kg1 Qd1 Ra1 Rf1 Ba4 Bb4 Nh6 Nf3 Pa7 Pb5 Pc4 Pe4 Pa2 Pd2 Pg2 Ph2",
+			"Ke8 Qa3 Ra8 Rh8 Bb6 Bg6 Nf6 Na5 Pb7 Pc7 Pd7 Pf7 Pg7 Ph7 Pb2",
+			6L, 264L, 9467L, 422333L, 15833292L),
+	//Promotions that give check and a knight attacking the castling king
+	PROMOTION_CHECKS(Alliance.WHITE, "KQ",
+			"Ke1 Qd1 Ra1 Rh1 Bc4 Bc1 Ne2 Nb1 Pd7 Pa2 Pb2 Pc2 Pg2 Ph2",
+			"Kf8 Qd8 Ra8 Rh8 Bc8 Be7 Nb8 Nf2 Pa7 Pb7 Pf7 Pg7 Ph7 Pc6",
+			44L, 1486L, 62379L, 2103487L, 89941194L),
+	//A quiet middlegame with both sides castled
+	MIDDLEGAME(Alliance.WHITE, "",
+			"Kg1 Qe2 Ra1 Rf1 Bg5 Bc4 Nc3 Nf3 Pe4 Pa3 Pd3 Pb2 Pc2 Pf2 Pg2 Ph2",
+			"Kg8 Qe7 Ra8 Rf8 Bc5 Bg4 Nc6 Nf6 Pb7 Pc7 Pf7 Pg7 Ph7 Pa6 Pd6 Pe5",
+			46L, 2079L, 89890L, 3894594L, 164075551L);
+
+	private final Alliance moveMaker;
+	private final String castlingRights;
+	private final String whitePieces;
+	private final String blackPieces;
+	private final long[] nodeCounts;
+
+	//Pieces are listed as a piece letter followed by a tile, e.g. "Ke1 Pe2". Kings and rooks are on their first move
+	//only where the castling rights (as in "KQkq") allow it, and pawns only while they stand on their starting row
+	PerftPosition(final Alliance moveMaker, final String castlingRights, final String whitePieces,
+			final String blackPieces, final long... nodeCounts) {
+		this.moveMaker = moveMaker;
+		this.castlingRights = castlingRights;
+		this.whitePieces = whitePieces;
+		this.blackPieces = blackPieces;
+		this.nodeCounts = nodeCounts;
+	}
+
+	public int getMaxDepth() {
+		return this.nodeCounts.length;
+	}
+
+	public long getExpectedNodes(final int depth) {
+		return this.nodeCounts[depth - 1];
+	}
+
+	public Board createBoard() {
+		final Board.Builder builder = new Board.Builder();
+		setPieces(builder, this.whitePieces, Alliance.WHITE);
+		setPieces(builder, this.blackPieces, Alliance.BLACK);
+		builder.setMoveMaker(this.moveMaker);
+		return builder.build();
+	}
+
+	private void setPieces(final Board.Builder builder, final String pieces, final Alliance alliance) {
+		for (final String token : pieces.split(" ")) {
+			builder.setPiece(createPiece(token.charAt(0), BoardUtilities.getCoordinateAtPosition(token.substring(1)), alliance));
+		}
+	}
+
+	private Piece createPiece(final char pieceLetter, final int coordinate, final Alliance alliance) {
+		final boolean white = alliance.isWhite();
+		switch (pieceLetter) {
+			case 'P':
+				return new Pawn(coordinate, alliance, coordinate / 8 == (white ? 6 : 1));
+			case 'N':
+				return new Knight(coordinate, alliance);
+			case 'B':
+				return new Bishop(coordinate, alliance);
+			case 'R':
+				final boolean kingSideRook = coordinate == (white ? 63 : 7) && hasCastlingRight(white ? 'K' : 'k');
+				final boolean queenSideRook = coordinate == (white ? 56 : 0) && hasCastlingRight(white ? 'Q' : 'q');
+				return new Rook(coordinate, alliance, kingSideRook || queenSideRook);
+			case 'Q':
+				return new Queen(coordinate, alliance);
+			case 'K':
+				return new King(coordinate, alliance, white ? hasCastlingRight('K') || hasCastlingRight('Q')
+						: hasCastlingRight('k') || hasCastlingRight('q'));
+			default:
+				throw new IllegalArgumentException("Unknown piece " + pieceLetter);
+		}
+	}
+
+	private boolean hasCastlingRight(final char right) {
+		return this.castlingRights.indexOf(right) >= 0;
+	}
+}
@@ -10,8 +10,6 @@ import com.chess.engine.board.Move.*;
 
 public class King extends Piece {
 	
-	private final static int[] CANDIDATE_MOVE_VECTORS = { -9, -8, -7, -1, 1, 7, 8, 9 };
-	
 	public King(final int pieceCoordinate, final Alliance pieceAlliance) {
 		super(pieceCoordinate, pieceAlliance, PieceType.KING, true);
 	}
@@ -21,29 +19,22 @@ public class King extends Piece {
 	}
 
 	@Override
-	public List<Move> calculateLegalMoves(Board board) {
+	public List<Move> calculateLegalMoves(final Board board) {
+		
 		List<Move> legalMoves = new ArrayList<>();
-		int destinationCoordinate;
 		
-		for(final int currentCandidate : CANDIDATE_MOVE_VECTORS) {
-			//If there is exception to rules, do not check legality
-			if(isMoveException(this.pieceCoordinate, currentCandidate)) {
-				continue;
+		//The precomputed targets only contain tiles on the board, so no edge checks are needed
+		for (final int destinationCoordinate : AttackTables.kingTargets(this.pieceCoordinate)) {
+			final Piece pieceAtDestination = board.getPiece(destinationCoordinate);
+			//If tile is empty
+			if (pieceAtDestination == null) {
+				legalMoves.add(new PositioningMove(board, this, destinationCoordinate));
 			}
-			destinationCoordinate = this.pieceCoordinate + currentCandidate;
-			//If kings move stays within boundaries of the board
-			if ((BoardUtilities.isValidBoardCoordinate(destinationCoordinate))) {
-				final Tile destinationTile = board.getTile(destinationCoordinate);
-				//If tile is empty
-				if (!destinationTile.isTileOccupied()) {
-					legalMoves.add(new PositioningMove(board, this, destinationCoordinate));
-				}
-				//If tile contains opposing alliance piece, add move to list
-				else if (this.pieceAlliance != destinationTile.getPiece().getPieceAlliance()) {
-					legalMoves.add(new CapturingMove(board, this, destinationCoordinate, destinationTile.getPiece()));
-				}
+			//If tile contains opposing alliance piece, add move to list
+			else if (this.pieceAlliance != pieceAtDestination.getPieceAlliance()) {
+				legalMoves.add(new CapturingMove(board, this, destinationCoordinate, pieceAtDestination));
 			}
-		}	
+		}
 		return Collections.unmodifiableList(legalMoves);
 	}
 	
@@ -58,18 +49,6 @@ public class King extends Piece {
 		return new King(move.getDestinationCoordinates(), move.getMovedPiece().getPieceAlliance(), false);
 	}
 	
-	//King move exceptions occur when trying to move too far left or right of the board
-	private static boolean isMoveException (final int currentCoordinate, final int candidateOffset) {
-		return isFirstColumnException(currentCoordinate, candidateOffset) || isEigthColumnException(currentCoordinate, candidateOffset);
-	}
-			
-	private static boolean isFirstColumnException(final int pieceCoordinate, final int candidateOffset) {
-		return pieceCoordinate % 8 == 0 && (candidateOffset == -1 || candidateOffset == -9 || candidateOffset == 7);
-	}
-			
-	private static boolean isEigthColumnException(final int pieceCoordinate, final int candidateOffset) {
-		return (pieceCoordinate - 7)% 8 == 0 && (candidateOffset == 1 || candidateOffset == 9 || candidateOffset == -7);
-	}
 	
 	@Override
 	public String toString() {
@@ -10,7 +10,8 @@ import com.chess.engine.board.Move.*;
 
 public class Pawn extends Piece {
 
-	private final static int[] CANDIDATE_MOVE_VECTORS = { 7, 8, 9, 16 };
+	//Queen first so that a promotion entered through the GUI defaults to a queen
+	private final static PieceType[] PROMOTION_PIECE_TYPES = { PieceType.QUEEN, PieceType.KNIGHT, PieceType.ROOK, PieceType.BISHOP };
 	
 	public Pawn(final int pieceCoordinate, final Alliance pieceAlliance) {
 		super(pieceCoordinate, pieceAlliance, PieceType.PAWN, true);
@@ -23,100 +24,73 @@ public class Pawn extends Piece {
 	public Piece getPromotionPiece() {
 		return new Queen(this.pieceCoordinate, this.pieceAlliance);
 	}
+	
+	public Piece getPromotionPiece(final PieceType pieceType) {
+		switch (pieceType) {
+			case KNIGHT:
+				return new Knight(this.pieceCoordinate, this.pieceAlliance);
+			case BISHOP:
+				return new Bishop(this.pieceCoordinate, this.pieceAlliance);
+			case ROOK:
+				return new Rook(this.pieceCoordinate, this.pieceAlliance, false);
+			case QUEEN:
+				return new Queen(this.pieceCoordinate, this.pieceAlliance);
+			default:
+				throw new IllegalArgumentException("A pawn cannot promote to " + pieceType);
+		}
+	}
+	
+	//A pawn reaching the last row may promote to a queen, knight, rook or bishop
+	private void addPromotionMoves(final List<Move> legalMoves, final Move pawnMove) {
+		for (final PieceType pieceType : PROMOTION_PIECE_TYPES) {
+			legalMoves.add(new PawnPromotionMove(pawnMove, getPromotionPiece(pieceType)));
+		}
+	}
 
 	@Override
 	public List<Move> calculateLegalMoves(Board board) {
 		List<Move> legalMoves = new ArrayList<>();
-		int destinationCoordinate;
+		final int direction = this.pieceAlliance.getDirection();
 		
-		for(final int currentCandidate : CANDIDATE_MOVE_VECTORS) {
-			destinationCoordinate = this.pieceCoordinate + (this.pieceAlliance.getDirection() * currentCandidate);
-			
-			if (!BoardUtilities.isValidBoardCoordinate(destinationCoordinate)) {
-				continue;
+		//Move forward one tile, or two from the starting row, if the tiles are empty
+		final int destinationCoordinate = this.pieceCoordinate + 8 * direction;
+		if (BoardUtilities.isValidBoardCoordinate(destinationCoordinate) && !board.isTileOccupied(destinationCoordinate)) {
+			if (this.pieceAlliance.isPawnPromotionSquare(destinationCoordinate)) {
+				addPromotionMoves(legalMoves, new PawnMove(board, this, destinationCoordinate));
 			}
-			
-			final Tile destinationTile = board.getTile(destinationCoordinate);
-			//Valid move for value of 7
-			if (currentCandidate == 7 && !(isMoveException(this.pieceCoordinate, currentCandidate, this.pieceAlliance))) {
-				if (board.getPiece(destinationCoordinate) != null) {
-					if (this.pieceAlliance != destinationTile.getPiece().pieceAlliance) {
-						if (this.pieceAlliance.isPawnPromotionSquare(destinationCoordinate)) {
-							legalMoves.add(new PawnPromotionMove(new PawnCapturingMove(board, this, destinationCoordinate, destinationTile.getPiece())));
-						}
-						else {
-							legalMoves.add(new PawnCapturingMove(board, this, destinationCoordinate, destinationTile.getPiece()));
-						}
-					}
-				}
-				else if (board.getEnPassantPawn() != null && board.getEnPassantPawn().getPiecePosition() == 
-						(this.pieceCoordinate + (this.pieceAlliance.getOppositeDirection()))) {
-						if (this.pieceAlliance != board.getEnPassantPawn().getPieceAlliance()) {
-							legalMoves.add(new PawnEnPassantMove(board, this, destinationCoordinate, board.getEnPassantPawn()));
-						}
-				}
+			else {
+				legalMoves.add(new PawnMove(board, this, destinationCoordinate));
 			}
-			//Valid move for value of 8
-			else if (currentCandidate == 8 && !destinationTile.isTileOccupied()) {
-				if (this.pieceAlliance.isPawnPromotionSquare(destinationCoordinate)) {
-					legalMoves.add(new PawnPromotionMove(new PawnMove(board, this, destinationCoordinate)));
-				}
-				else {
-					legalMoves.add(new PawnMove(board, this, destinationCoordinate));
-				}
+			final int jumpCoordinate = destinationCoordinate + 8 * direction;
+			if (this.isFirstMove() && !board.isTileOccupied(jumpCoordinate)) {
+				legalMoves.add(new PawnJumpMove(board, this, jumpCoordinate));
 			}
-			//Valid move for value of 9
-			else if (currentCandidate == 9 && !(isMoveException(this.pieceCoordinate, currentCandidate, this.pieceAlliance))) {
-				if (board.getPiece(destinationCoordinate) != null) {
-					if (this.pieceAlliance != destinationTile.getPiece().pieceAlliance) {
-						if (this.pieceAlliance.isPawnPromotionSquare(destinationCoordinate)) {
-							legalMoves.add(new PawnPromotionMove(new PawnCapturingMove(board, this, destinationCoordinate, destinationTile.getPiece())));
-						}
-						else {
-							legalMoves.add(new PawnCapturingMove(board, this, destinationCoordinate, destinationTile.getPiece()));
-						}
+		}
+		
+		//Captures use the precomputed attack targets, which never wrap around the edge of the board
+		for (final int attackCoordinate : AttackTables.pawnAttackTargets(this.pieceAlliance, this.pieceCoordinate)) {
+			final Piece pieceAtDestination = board.getPiece(attackCoordinate);
+			if (pieceAtDestination != null) {
+				if (this.pieceAlliance != pieceAtDestination.pieceAlliance) {
+					if (this.pieceAlliance.isPawnPromotionSquare(attackCoordinate)) {
+						addPromotionMoves(legalMoves, new PawnCapturingMove(board, this, attackCoordinate, pieceAtDestination));
+					}
+					else {
+						legalMoves.add(new PawnCapturingMove(board, this, attackCoordinate, pieceAtDestination));
 					}
-				}
-				//EnPassant
-				else if (board.getEnPassantPawn() != null && board.getEnPassantPawn().getPiecePosition() == 
-						(this.pieceCoordinate - (this.pieceAlliance.getOppositeDirection()))) {
-						if (this.pieceAlliance != board.getEnPassantPawn().getPieceAlliance()) {
-							legalMoves.add(new PawnEnPassantMove(board, this, destinationCoordinate, board.getEnPassantPawn()));
-						}
 				}
 			}
-			//Valid move for value of 16
-			else if (currentCandidate == 16 && this.isFirstMove()) {
-				final int tileBehind = destinationCoordinate - 8 * this.pieceAlliance.getDirection();
-				if (!(destinationTile.isTileOccupied() || board.getTile(tileBehind).isTileOccupied())) {
-					legalMoves.add(new PawnJumpMove(board, this, destinationCoordinate));
-				}
+			//EnPassant, where the pawn that just jumped sits beside this pawn, behind the attacked tile
+			else if (board.getEnPassantPawn() != null && board.getEnPassantPawn().getPiecePosition() == 
+					attackCoordinate + 8 * this.pieceAlliance.getOppositeDirection()) {
+					if (this.pieceAlliance != board.getEnPassantPawn().getPieceAlliance()) {
+						legalMoves.add(new PawnEnPassantMove(board, this, attackCoordinate, board.getEnPassantPawn()));
+					}
 			}
 		}
 		return Collections.unmodifiableList(legalMoves);
 	}
 	
-	private boolean isMoveException(final int currentCoordinate, final int candidateOffset, final Alliance alliance) {
-		return isFirstColumnException(currentCoordinate, candidateOffset, alliance) || isEigthColumnException(currentCoordinate, candidateOffset, alliance);
-	}
-	
-	private static boolean isFirstColumnException(final int currentCoordinate, final int candidateOffset, final Alliance alliance) {
-		if (currentCoordinate % 8 == 0) {
-			if ((candidateOffset == 7 && alliance.isBlack()) || (candidateOffset == 9 && alliance.isWhite())) {
-				return true;
-			}
-		}
-		return false;
-	}
-	
-	private static boolean isEigthColumnException(final int currentCoordinate, final int candidateOffset, final Alliance alliance) {
-		if ((currentCoordinate + 1) % 8 == 0 && ((candidateOffset == 7 && alliance.isWhite()) 
-				|| (candidateOffset == 9 && alliance.isBlack()))) {
-			return true;
-		}
-		return false;
-	}
-	
 	@Override
 	public Piece movePiece(Move move) {
 		return new Pawn(move.getDestinationCoordinates(), move.getMovedPiece().getPieceAlliance(), false);
@@ -36,6 +36,15 @@ public abstract class Piece {
 				&& pieceType == otherPiece.getPieceType();				
 	}
 	
+	@Override
+	public int hashCode() {
+		int result = this.pieceType.hashCode();
+		result = 31 * result + this.pieceAlliance.hashCode();
+		result = 31 * result + this.pieceCoordinate;
+		result = 31 * result + (this.firstMove ? 1 : 0);
+		return result;
+	}
+	
 	public Alliance getPieceAlliance() {
 		return this.pieceAlliance;
 	}
@@ -72,7 +81,7 @@ public abstract class Piece {
 		PAWN("P", 1),
         KNIGHT("N", 3),
         BISHOP("B", 3),
-        ROOK("R", 3),
+        ROOK("R", 5),
         QUEEN("Q", 9),
         KING("K", 0);
 		
@@ -84,7 +93,7 @@ public abstract class Piece {
 			this.pieceValue = pieceValue;
 		}
 
-        int getPieceValue() {
+        public int getPieceValue() {
 			return this.pieceValue;
 		}
 
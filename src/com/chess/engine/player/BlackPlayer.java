@@ -12,8 +12,8 @@ import com.chess.engine.pieces.Rook;
 
 public class BlackPlayer extends Player {
 
-	public BlackPlayer(final Board board, final Collection<Move> whiteLegalMoves, final Collection<Move> blackLegalMoves) {
-		super(board, blackLegalMoves, whiteLegalMoves);
+	public BlackPlayer(final Board board) {
+		super(board);
 	}
 	
 	@Override
@@ -32,36 +32,34 @@ public class BlackPlayer extends Player {
 	}
 
 	@Override
-	protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegalMoves,
-			final Collection<Move> opponentLegalMoves) {
+	protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegalMoves) {
 		final List<Move> castlingMoves = new ArrayList<>();
 		
 		//If the king has not moved and is not in check
 		if (this.playerKing.isFirstMove() && !this.isInCheck()) {
 			//King side castling
 			//If there is no piece in between the king and the king side rook
-			if (!(this.board.getTile(5).isTileOccupied() || this.board.getTile(6).isTileOccupied())) {
-				final Piece kingSideRook = this.board.getTile(7).getPiece();
+			if (!(this.board.isTileOccupied(5) || this.board.isTileOccupied(6))) {
+				final Piece kingSideRook = this.board.getPiece(7);
 				//If the piece on the king side rook tile is a rook and has not moved yet
-				if(kingSideRook.isRook() && kingSideRook.isFirstMove()) {
-					//If the king is not castling through an attacked tile
-					if (calculateAttacksOnTile(5, opponentLegalMoves).isEmpty() &&
-						calculateAttacksOnTile(6, opponentLegalMoves).isEmpty()) {
+				if (kingSideRook != null && kingSideRook.isRook() && kingSideRook.isFirstMove()) {
+					//If the king is not castling through or onto an attacked tile
+					if (!isTileAttacked(5) &&
+						!isTileAttacked(6)) {
 							castlingMoves.add(new Move.KingSideCastlingMove(board, playerKing, 6, (Rook)kingSideRook, 5));
 					}
 				}
 			}			
 			//Queen side castling
 			//If there is no piece in between the king and the queen side rook
-			if (!(this.board.getTile(1).isTileOccupied() || 
-				this.board.getTile(2).isTileOccupied() || this.board.getTile(3).isTileOccupied())) {
-					final Piece queenSideRook = this.board.getTile(0).getPiece();
+			if (!(this.board.isTileOccupied(1) || 
+				this.board.isTileOccupied(2) || this.board.isTileOccupied(3))) {
+					final Piece queenSideRook = this.board.getPiece(0);
 					//If the piece on the queen side rook tile is a rook and has not moved yet
-					if(queenSideRook.isRook() && queenSideRook.isFirstMove()) {
-						//If the king is not castling through an attacked tile
-						if (calculateAttacksOnTile(1, opponentLegalMoves).isEmpty() &&
-							calculateAttacksOnTile(2, opponentLegalMoves).isEmpty() &&
-							calculateAttacksOnTile (3, opponentLegalMoves).isEmpty()) {
+					if (queenSideRook != null && queenSideRook.isRook() && queenSideRook.isFirstMove()) {
+						//If the king is not castling through or onto an attacked tile
+						if (!isTileAttacked(2) &&
+							!isTileAttacked(3)) {
 								castlingMoves.add(new Move.QueenSideCastlingMove(board, playerKing, 2, (Rook)queenSideRook, 3));
 					}
 				}
@@ -7,7 +7,6 @@ public class MoveTransition {
 
 		@SuppressWarnings("unused")
 		private final Board newBoard;
-		@SuppressWarnings("unused")
 		private final Move move;
 		private final MoveStatus moveStatus;
 		
@@ -24,5 +23,9 @@ public class MoveTransition {
 		public Board getBoard() {
 			return newBoard;
 		}
+
+		public Move getMove() {
+			return this.move;
+		}
 		
 }
@@ -1,11 +1,12 @@
 package com.chess.engine.player;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.ArrayList;
 import com.chess.engine.Alliance;
 import com.chess.engine.board.Board;
+import com.chess.engine.board.LegalityMasks;
 import com.chess.engine.board.Move;
 import com.chess.engine.pieces.King;
 import com.chess.engine.pieces.Piece;
@@ -14,16 +15,14 @@ public abstract class Player {
 	
 	protected final Board board;
 	protected final King playerKing;
-	protected final Collection<Move> legalMoves;
 	private  final boolean isInCheck;
+	//Generated on first use, see getLegalMoves()
+	private volatile Collection<Move> legalMoves;
 	
-	Player(final Board board, final Collection<Move> legalMoves, 
-			final Collection<Move> opponentMoves) {
+	Player(final Board board) {
 		this.board = board;
 		this.playerKing = establishKing();
-		this.isInCheck = !calculateAttacksOnTile(this.playerKing.getPiecePosition(), opponentMoves).isEmpty();
-		legalMoves.addAll(calculateKingCastles(legalMoves, opponentMoves));
-		this.legalMoves = Collections.unmodifiableCollection(legalMoves);
+		this.isInCheck = isTileAttacked(this.playerKing.getPiecePosition());
 	}
 
 	private King establishKing() {
@@ -39,24 +38,50 @@ public abstract class Player {
 		return this.playerKing;
 	}
 	
+	//Moves are generated the first time they are asked for and kept. Players can be shared between threads, and the
+	//locking makes sure they are only generated once
 	public Collection<Move> getLegalMoves() {
-		return this.legalMoves;
+		Collection<Move> moves = this.legalMoves;
+		if (moves == null) {
+			synchronized (this) {
+				moves = this.legalMoves;
+				if (moves == null) {
+					moves = calculateLegalMoves();
+					this.legalMoves = moves;
+				}
+			}
+		}
+		return moves;
 	}
 	
-	//Calculates opponents attacks on a given tile. Used for determining check and castling rights
-	protected static Collection<Move> calculateAttacksOnTile(final int piecePosition, final Collection<Move> moves) {
-		final List<Move> attackMoves = new ArrayList<>();
-		
-		for (final Move move : moves) {
-			if (move.getDestinationCoordinates() == piecePosition) {
-				attackMoves.add(move);
+	//Pieces generate pseudo-legal moves, which are kept only if they respect the pins and checks of the position.
+	//Castling moves already check every tile the king crosses
+	private Collection<Move> calculateLegalMoves() {
+		final LegalityMasks legalityMasks = new LegalityMasks(this.board.getBitBoard(), getAlliance());
+		final List<Move> moves = new ArrayList<>();
+		for (final Piece piece : getActivePieces()) {
+			for (final Move move : piece.calculateLegalMoves(this.board)) {
+				if (legalityMasks.isLegal(move.getCurrentCoordinate(), move.getDestinationCoordinates(), piece.isKing(),
+						move instanceof Move.PawnEnPassantMove)) {
+					moves.add(move);
+				}
 			}
-		}		
-		return Collections.unmodifiableList(attackMoves);
+		}
+		moves.addAll(calculateKingCastles(moves));
+		return Collections.unmodifiableCollection(moves);
+	}
+	
+	//Whether an opposing piece attacks the tile. Used for determining check and castling rights
+	protected boolean isTileAttacked(final int tileCoordinate) {
+		return this.board.isSquareAttacked(tileCoordinate, getOpponentAlliance());
+	}
+	
+	private Alliance getOpponentAlliance() {
+		return getAlliance().isWhite() ? Alliance.BLACK : Alliance.WHITE;
 	}
 	
 	public boolean isMoveLegal(final Move move) {
-		return this.legalMoves.contains(move);
+		return getLegalMoves().contains(move);
 	}
 	
 	public boolean isInCheck() {
@@ -81,29 +106,17 @@ public abstract class Player {
 			return new MoveTransition(this.board, move, MoveStatus.ILLEGAL_MOVE);
 		}
 		
-		final Board newBoard = move.execute();
-		final Collection<Move> opponentsAttacksOnKing = Player.calculateAttacksOnTile(newBoard.currentPlayer().getOpponent().getPlayerKing().getPiecePosition(),
-				newBoard.currentPlayer().getLegalMoves());
-		//If player is in check
-		if (!opponentsAttacksOnKing.isEmpty()) {
-			return new MoveTransition(this.board, move, MoveStatus.LEAVES_PLAYER_IN_CHECK);
-		}	
-		return new MoveTransition(newBoard, move, MoveStatus.DONE);
+		//Legal moves never leave the king in check, so there is nothing left to test after the move
+		return new MoveTransition(move.execute(), move, MoveStatus.DONE);
 	}
 
 	//Method determines if a player is able to make a legal move that does not leave them in check
 	protected boolean hasEscapeMoves() {	
-		for (final Move move : this.legalMoves) {
-			final MoveTransition transition = makeMove(move);
-			if (transition.getMoveStatus().isDone()) {
-				return true;
-			}
-		}
-		return false;
+		return !getLegalMoves().isEmpty();
 	}
 
 	public abstract Collection<Piece> getActivePieces();
 	public abstract Alliance getAlliance();
 	public abstract Player getOpponent();
-	protected abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegalMoves, Collection<Move> opponentLegalMoves);
+	protected abstract Collection<Move> calculateKingCastles(Collection<Move> playerLegalMoves);
 }
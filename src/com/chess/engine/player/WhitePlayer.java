@@ -13,8 +13,8 @@ import com.chess.engine.pieces.Rook;
 
 public class WhitePlayer extends Player {
 
-	public WhitePlayer(final Board board, final Collection<Move> whiteLegalMoves, final Collection<Move> blackLegalMoves) {
-		super(board, whiteLegalMoves, blackLegalMoves);
+	public WhitePlayer(final Board board) {
+		super(board);
 	}
 	
 	@Override
@@ -33,36 +33,34 @@ public class WhitePlayer extends Player {
 	}
 	
 	@Override
-	protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegalMoves,
-			final Collection<Move> opponentLegalMoves) {
+	protected Collection<Move> calculateKingCastles(final Collection<Move> playerLegalMoves) {
 		final List<Move> castlingMoves = new ArrayList<>();
 		
 		//If the king has not moved and is not in check
 		if (this.playerKing.isFirstMove() && !this.isInCheck()) {
 			//King side castling
 			//If there is no piece in between the king and the king side rook
-			if (!(this.board.getTile(61).isTileOccupied() || this.board.getTile(62).isTileOccupied())) {
-				final Piece kingSideRook = this.board.getTile(63).getPiece();
+			if (!(this.board.isTileOccupied(61) || this.board.isTileOccupied(62))) {
+				final Piece kingSideRook = this.board.getPiece(63);
 				//If the piece on the king side rook tile is a rook and has not moved yet
-				if(kingSideRook.isRook() &&kingSideRook.isFirstMove()) {
-					//If the king is not castling through an attacked tile
-					if (calculateAttacksOnTile(61, opponentLegalMoves).isEmpty() &&
-							calculateAttacksOnTile(62, opponentLegalMoves).isEmpty()) {
+				if (kingSideRook != null && kingSideRook.isRook() && kingSideRook.isFirstMove()) {
+					//If the king is not castling through or onto an attacked tile
+					if (!isTileAttacked(61) &&
+							!isTileAttacked(62)) {
 						castlingMoves.add(new Move.KingSideCastlingMove(board, playerKing, 62, (Rook)kingSideRook, 61));
 					}
 				}
 			}	
 			//Queen side castling
 			//If there is no piece in between the king and the queen side rook
-			if (!(this.board.getTile(57).isTileOccupied() || 
-					this.board.getTile(58).isTileOccupied() || this.board.getTile(59).isTileOccupied())) {
-				final Piece queenSideRook = this.board.getTile(56).getPiece();
+			if (!(this.board.isTileOccupied(57) || 
+					this.board.isTileOccupied(58) || this.board.isTileOccupied(59))) {
+				final Piece queenSideRook = this.board.getPiece(56);
 				//If the piece on the queen side rook tile is a rook and has not moved yet
-				if(queenSideRook.isRook() && queenSideRook.isFirstMove()) {
-					//If the king is not castling through an attacked tile
-					if (calculateAttacksOnTile(57, opponentLegalMoves).isEmpty() &&
-							calculateAttacksOnTile(58, opponentLegalMoves).isEmpty() &&
-							calculateAttacksOnTile (59, opponentLegalMoves).isEmpty()) {
+				if (queenSideRook != null && queenSideRook.isRook() && queenSideRook.isFirstMove()) {
+					//If the king is not castling through or onto an attacked tile
+					if (!isTileAttacked(58) &&
+							!isTileAttacked(59)) {
 						castlingMoves.add(new Move.QueenSideCastlingMove(board, playerKing, 58, (Rook)queenSideRook, 59));
 					}
 				}
@@ -0,0 +1,594 @@
+package com.chess.engine.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.MoveEncoding;
+import com.chess.engine.board.MutableBoard;
+
+//An alpha-beta negamax search with iterative deepening. Each iteration searches one ply deeper than the last, starting
+//with the previous best move, until the maximum depth is reached or the time or node budget runs out. An iteration cut
+//short by the budget is discarded, so the move returned always comes from a fully searched depth. Results are stored
+//in a TranspositionTable, so positions reached again by a different move order are not searched twice and the best
+//move of the previous iteration is tried first at every node.
+//Moves come from a MovePicker: the hash move, then captures, then killer moves (quiet moves that caused a cutoff at
+//the same ply elsewhere in the tree), then the other quiet moves ordered by how often they caused cutoffs before.
+//The tree is walked on a MutableBoard with int encoded moves and a move buffer per ply, so searching allocates nothing;
+//only the moves reported in a SearchResult are turned back into Move objects.
+//Where the depth runs out a quiescence search keeps playing captures and promotions until the position is quiet, so a
+//leaf is never scored in the middle of an exchange. Captures that static exchange evaluation says lose material are
+//not searched there.
+//Two forward pruning techniques, each of which can be switched off to measure what it gains. Null-move pruning lets
+//the side to move pass: if the opponent still cannot bring the score below beta with a reduced search, the position
+//is cut off without searching any real move. Late-move reductions search the quiet moves that come late in the move
+//order to a reduced depth, and search a move again at full depth only if the reduced search finds it beats alpha.
+//Only the first move of a node is searched with the full window. Every later move is first searched with a null
+//window, which only proves it is no better than the best so far (principal variation search), and is searched again
+//with the full window if that proof fails. Each iteration after the first searches the root in an aspiration window
+//around the previous iteration's score and widens the window only on the side the score falls out of.
+//With a TimeManager the time limit becomes the manager's hard limit, and after each iteration the manager decides
+//whether another one is worth starting
+public class AlphaBeta implements MoveStrategy {
+
+	public static final int MATE_SCORE = 100000;
+	public static final int INFINITY = 1000000;
+	public static final long NO_LIMIT = Long.MAX_VALUE;
+
+	//No search line is longer than this, so scores within MAX_PLY of MATE_SCORE are mate scores
+	public static final int MAX_PLY = 128;
+
+	//The clock is only read every this many nodes
+	private static final int CHECK_INTERVAL = 1024;
+
+	private static final int HASH_MOVE_SCORE = Integer.MAX_VALUE;
+	//History scores are halved once any of them passes this, so recent cutoffs outweigh old ones
+	private static final int MAX_HISTORY = 1 << 20;
+
+	//A null move is searched this many plies shallower than a real move would be, and one ply more from
+	//NULL_MOVE_DEEP_DEPTH on
+	private static final int NULL_MOVE_REDUCTION = 2;
+	private static final int NULL_MOVE_DEEP_DEPTH = 7;
+	//Late-move reductions apply from this depth, to quiet moves after the first LMR_FULL_DEPTH_MOVES. Moves after
+	//LMR_DEEP_MOVES at LMR_DEEP_DEPTH or more are reduced by two plies instead of one
+	private static final int LMR_MIN_DEPTH = 3;
+	private static final int LMR_FULL_DEPTH_MOVES = 3;
+	private static final int LMR_DEEP_DEPTH = 6;
+	private static final int LMR_DEEP_MOVES = 6;
+
+	//The half-width of the first aspiration window, in centipawns. It doubles with every re-search
+	public static final int DEFAULT_ASPIRATION_WINDOW = 35;
+
+	private final BoardEvaluator evaluator;
+	private final int maxDepth;
+	private final long timeLimitMillis;
+	private final long nodeLimit;
+	private final TranspositionTable transpositionTable;
+	private final List<SearchResult> results;
+	private final int[][] moveBuffers;
+	private final int[][] orderingScores;
+	private final MovePicker[] movePickers;
+	//Indexed by ply: the last two distinct quiet moves that caused a cutoff there, as MoveEncoding.shortMove values
+	private final int[][] killers;
+	//Indexed by moved piece, then destination tile: how much quiet moves have caused cutoffs, deeper ones counting more
+	private final int[][] history;
+	private final StaticExchange staticExchange;
+
+	private MutableBoard board;
+	private long nodes;
+	private long tableProbes;
+	private long tableHits;
+	private long startTime;
+	private long deadline;
+	//Nodes the last root search spent in all, and on the move it found best
+	private long rootSearchNodes;
+	private long bestMoveNodes;
+	private boolean aborted;
+	private volatile boolean stopped;
+	private boolean nullMovePruning = true;
+	private boolean lateMoveReductions = true;
+	private int aspirationWindow = DEFAULT_ASPIRATION_WINDOW;
+	private SearchListener listener;
+	private TimeManager timeManager;
+
+	public AlphaBeta(final int maxDepth) {
+		this(new StandardBoardEvaluator(), maxDepth, NO_LIMIT, NO_LIMIT);
+	}
+
+	public AlphaBeta(final BoardEvaluator evaluator, final int maxDepth, final long timeLimitMillis, final long nodeLimit) {
+		this(evaluator, maxDepth, timeLimitMillis, nodeLimit, new TranspositionTable());
+	}
+
+	//A null transpositionTable searches without one. The table is kept between searches and may be shared
+	public AlphaBeta(final BoardEvaluator evaluator, final int maxDepth, final long timeLimitMillis, final long nodeLimit,
+			final TranspositionTable transpositionTable) {
+		this.evaluator = evaluator;
+		this.maxDepth = Math.min(maxDepth, MAX_PLY - 1);
+		this.timeLimitMillis = timeLimitMillis;
+		this.nodeLimit = nodeLimit;
+		this.transpositionTable = transpositionTable;
+		this.results = new ArrayList<>();
+		this.moveBuffers = new int[MAX_PLY][MutableBoard.MAX_MOVES];
+		this.orderingScores = new int[MAX_PLY][MutableBoard.MAX_MOVES];
+		this.killers = new int[MAX_PLY][2];
+		this.history = new int[BitBoard.NUM_PIECE_INDICES][64];
+		this.movePickers = new MovePicker[MAX_PLY];
+		for (int ply = 0; ply < MAX_PLY; ply++) {
+			this.movePickers[ply] = new MovePicker(this.history);
+		}
+		this.staticExchange = new StaticExchange();
+	}
+
+	@Override
+	public Move execute(final Board board) {
+		this.stopped = false;
+		if (this.transpositionTable != null) {
+			this.transpositionTable.newSearch();
+		}
+		return search(board, 1, System.nanoTime());
+	}
+
+	//Runs the iterative deepening loop from startDepth, timing the search from startTime (a System.nanoTime value)
+	Move search(final Board rootBoard, final int startDepth, final long startTime) {
+		this.results.clear();
+		this.nodes = 0;
+		this.tableProbes = 0;
+		this.tableHits = 0;
+		this.aborted = false;
+		this.startTime = startTime;
+		final long timeLimitMillis = this.timeManager != null ? this.timeManager.getMaximumMillis() : this.timeLimitMillis;
+		this.deadline = timeLimitMillis == NO_LIMIT ? NO_LIMIT : this.startTime + timeLimitMillis * 1000000L;
+		this.board = new MutableBoard(rootBoard);
+		for (final int[] plyKillers : this.killers) {
+			Arrays.fill(plyKillers, MoveEncoding.NO_MOVE);
+		}
+		ageHistory();
+
+		final int[] rootMoves = this.moveBuffers[0];
+		final int rootMoveCount = this.board.generateLegalMoves(rootMoves);
+		if (rootMoveCount == 0) {
+			return Move.NULL_MOVE;
+		}
+		scoreMoves(rootMoves, this.orderingScores[0], rootMoveCount, rootHashMove());
+		for (int i = 0; i < rootMoveCount; i++) {
+			MovePicker.selectMove(rootMoves, this.orderingScores[0], i, rootMoveCount);
+		}
+
+		int bestMove = rootMoves[0];
+		int previousScore = 0;
+		for (int depth = startDepth; depth <= this.maxDepth; depth++) {
+			int window = this.aspirationWindow;
+			int alpha = -INFINITY;
+			int beta = INFINITY;
+			//Mate scores change by a ply every iteration, so they are searched with the full window
+			if (window > 0 && !this.results.isEmpty() && Math.abs(previousScore) < MATE_SCORE - MAX_PLY) {
+				alpha = previousScore - window;
+				beta = previousScore + window;
+			}
+			int failHighs = 0;
+			int failLows = 0;
+			int score;
+			while (true) {
+				score = searchRoot(rootMoves, rootMoveCount, depth, alpha, beta);
+				if (this.aborted) {
+					break;
+				}
+				if (score <= alpha) {
+					failLows++;
+				} else if (score >= beta) {
+					failHighs++;
+				} else {
+					break;
+				}
+				window *= 2;
+				alpha = score <= alpha ? Math.max(score - window, -INFINITY) : alpha;
+				beta = score >= beta ? Math.min(score + window, INFINITY) : beta;
+			}
+			if (this.aborted) {
+				break;
+			}
+			//searchRoot keeps the best move at the front, so it is searched first in the next iteration as well
+			final boolean bestMoveChanged = !this.results.isEmpty() && rootMoves[0] != bestMove;
+			bestMove = rootMoves[0];
+			previousScore = score;
+			if (this.transpositionTable != null) {
+				this.transpositionTable.store(this.board.getZobristKey(), bestMove, score, depth, TranspositionTable.EXACT);
+			}
+			final SearchResult result = new SearchResult(MoveEncoding.toMove(rootBoard, bestMove), score, depth, this.nodes,
+					elapsedMillis(), principalVariation(rootBoard, bestMove, depth), failHighs, failLows);
+			this.results.add(result);
+			if (this.listener != null) {
+				this.listener.iterationCompleted(result);
+			}
+			if (Math.abs(score) >= MATE_SCORE - this.maxDepth) {
+				break;
+			}
+			if (this.timeManager != null) {
+				//With a single legal move there is nothing to think about
+				if (rootMoveCount == 1) {
+					break;
+				}
+				this.timeManager.iterationCompleted(bestMoveChanged, this.bestMoveNodes, this.rootSearchNodes);
+				if (this.timeManager.shouldStop(elapsedMillis())) {
+					break;
+				}
+			}
+		}
+		return MoveEncoding.toMove(rootBoard, bestMove);
+	}
+
+	//Searches every root move within the window and returns the best score, failing soft. A move that beats alpha is
+	//moved to the front of rootMoves, so after a fail-high the re-search starts with the move that failed high
+	private int searchRoot(final int[] rootMoves, final int rootMoveCount, final int depth, int alpha, final int beta) {
+		final long startNodes = this.nodes;
+		this.bestMoveNodes = 0;
+		int bestScore = -INFINITY;
+		for (int i = 0; i < rootMoveCount; i++) {
+			final int move = rootMoves[i];
+			final long moveStartNodes = this.nodes;
+			this.board.makeMove(move);
+			int score;
+			if (i == 0) {
+				score = -negamax(depth - 1, -beta, -alpha, 1, true);
+			} else {
+				score = -negamax(depth - 1, -alpha - 1, -alpha, 1, true);
+				if (score > alpha && score < beta) {
+					score = -negamax(depth - 1, -beta, -alpha, 1, true);
+				}
+			}
+			this.board.unmakeMove();
+			if (this.aborted) {
+				return 0;
+			}
+			if (score > bestScore) {
+				bestScore = score;
+				if (score > alpha) {
+					alpha = score;
+					this.bestMoveNodes = this.nodes - moveStartNodes;
+					System.arraycopy(rootMoves, 0, rootMoves, 1, i);
+					rootMoves[0] = move;
+					if (score >= beta) {
+						break;
+					}
+				}
+			}
+		}
+		this.rootSearchNodes = this.nodes - startNodes;
+		return bestScore;
+	}
+
+	//allowNullMove is false right after a null move, so that two passes in a row never cancel each other out
+	private int negamax(final int depth, int alpha, final int beta, final int ply, final boolean allowNullMove) {
+		if (depth == 0) {
+			return quiescence(alpha, beta, ply);
+		}
+		if (isOutOfBudget()) {
+			this.aborted = true;
+			return 0;
+		}
+		this.nodes++;
+
+		final long key = this.board.getZobristKey();
+		int hashMove = TranspositionTable.NO_MOVE;
+		if (this.transpositionTable != null) {
+			this.tableProbes++;
+			final long entry = this.transpositionTable.probe(key);
+			if (entry != 0) {
+				this.tableHits++;
+				hashMove = TranspositionTable.getMove(entry);
+				if (TranspositionTable.getDepth(entry) >= depth) {
+					final int score = scoreFromTable(TranspositionTable.getScore(entry), ply);
+					final int bound = TranspositionTable.getBound(entry);
+					if (bound == TranspositionTable.EXACT
+							|| (bound == TranspositionTable.LOWER_BOUND && score >= beta)
+							|| (bound == TranspositionTable.UPPER_BOUND && score <= alpha)) {
+						return score;
+					}
+				}
+			}
+		}
+
+		final boolean inCheck = this.board.isInCheck();
+		if (this.nullMovePruning && allowNullMove && !inCheck && depth > NULL_MOVE_REDUCTION && beta < MATE_SCORE - MAX_PLY
+				&& this.board.hasNonPawnMaterial(this.board.getSideToMove())) {
+			final int reduction = depth >= NULL_MOVE_DEEP_DEPTH ? NULL_MOVE_REDUCTION + 1 : NULL_MOVE_REDUCTION;
+			this.board.makeNullMove();
+			final int score = -negamax(depth - 1 - reduction, -beta, -beta + 1, ply + 1, false);
+			this.board.unmakeNullMove();
+			if (this.aborted) {
+				return 0;
+			}
+			if (score >= beta) {
+				//A mate found after passing is not a real mate, so only the bound is returned
+				return beta;
+			}
+		}
+
+		final MovePicker picker = this.movePickers[ply];
+		picker.reset(this.board, hashMove, this.killers[ply][0], this.killers[ply][1]);
+
+		final int originalAlpha = alpha;
+		int bestScore = -INFINITY;
+		int bestMove = MoveEncoding.NO_MOVE;
+		int moveCount = 0;
+		int move;
+		while ((move = picker.next()) != MoveEncoding.NO_MOVE) {
+			moveCount++;
+			this.board.makeMove(move);
+			int score;
+			if (moveCount == 1) {
+				score = -negamax(depth - 1, -beta, -alpha, ply + 1, true);
+			} else {
+				if (this.lateMoveReductions && depth >= LMR_MIN_DEPTH && moveCount > LMR_FULL_DEPTH_MOVES && !inCheck
+						&& picker.isPickingQuietMoves() && !this.board.isInCheck()) {
+					final int reduction = depth >= LMR_DEEP_DEPTH && moveCount > LMR_DEEP_MOVES ? 2 : 1;
+					score = -negamax(depth - 1 - reduction, -alpha - 1, -alpha, ply + 1, true);
+				} else {
+					score = alpha + 1;
+				}
+				//A reduced search that beats alpha is verified at full depth, still with a null window
+				if (score > alpha) {
+					score = -negamax(depth - 1, -alpha - 1, -alpha, ply + 1, true);
+				}
+				if (score > alpha && score < beta) {
+					score = -negamax(depth - 1, -beta, -alpha, ply + 1, true);
+				}
+			}
+			this.board.unmakeMove();
+			if (this.aborted) {
+				return 0;
+			}
+			if (score > bestScore) {
+				bestScore = score;
+				bestMove = move;
+				if (score > alpha) {
+					alpha = score;
+					if (score >= beta) {
+						if (!MoveEncoding.isCapture(move) && !MoveEncoding.isPromotion(move)) {
+							updateQuietCutoff(move, depth, ply);
+						}
+						break;
+					}
+				}
+			}
+		}
+		if (moveCount == 0) {
+			//Checkmate scores prefer the shortest mate, stalemate is a draw
+			return inCheck ? -MATE_SCORE + ply : 0;
+		}
+
+		if (this.transpositionTable != null) {
+			final int bound = bestScore >= beta ? TranspositionTable.LOWER_BOUND
+					: bestScore > originalAlpha ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND;
+			//A node that failed low has no reliable best move
+			this.transpositionTable.store(key, bound == TranspositionTable.UPPER_BOUND ? TranspositionTable.NO_MOVE : bestMove,
+					scoreToTable(bestScore, ply), depth, bound);
+		}
+		return bestScore;
+	}
+
+	//Searches captures and promotions only. The side to move may stand pat on the static evaluation instead, as it is
+	//never forced to capture, unless it is in check, when every evasion is searched
+	private int quiescence(int alpha, final int beta, final int ply) {
+		if (isOutOfBudget()) {
+			this.aborted = true;
+			return 0;
+		}
+		this.nodes++;
+		final boolean inCheck = this.board.isInCheck();
+		if (ply >= MAX_PLY - 1) {
+			return this.evaluator.evaluate(this.board);
+		}
+
+		int bestScore = -INFINITY;
+		if (!inCheck) {
+			bestScore = this.evaluator.evaluate(this.board);
+			if (bestScore >= beta) {
+				return bestScore;
+			}
+			if (bestScore > alpha) {
+				alpha = bestScore;
+			}
+		}
+
+		final int[] moves = this.moveBuffers[ply];
+		final int[] scores = this.orderingScores[ply];
+		final int moveCount = inCheck ? this.board.generateLegalMoves(moves) : this.board.generateCapturesAndPromotions(moves);
+		if (inCheck && moveCount == 0) {
+			return -MATE_SCORE + ply;
+		}
+		scoreMoves(moves, scores, moveCount, TranspositionTable.NO_MOVE);
+
+		for (int i = 0; i < moveCount; i++) {
+			final int move = MovePicker.selectMove(moves, scores, i, moveCount);
+			if (!inCheck) {
+				//Under-promotions are left to the main search, and so are captures that lose material
+				if (MoveEncoding.isPromotion(move) && MoveEncoding.getFlag(move) != MoveEncoding.PROMOTE_QUEEN) {
+					continue;
+				}
+				if (MoveEncoding.isCapture(move) && this.staticExchange.evaluate(this.board, move) < 0) {
+					continue;
+				}
+			}
+			this.board.makeMove(move);
+			final int score = -quiescence(-beta, -alpha, ply + 1);
+			this.board.unmakeMove();
+			if (this.aborted) {
+				return 0;
+			}
+			if (score > bestScore) {
+				bestScore = score;
+				if (score > alpha) {
+					alpha = score;
+					if (score >= beta) {
+						break;
+					}
+				}
+			}
+		}
+		return bestScore;
+	}
+
+	//Orders the root moves and the moves of the quiescence search, which are generated all at once: the best move from
+	//the transposition table first, then captures and promotions as a MovePicker orders them
+	private static void scoreMoves(final int[] moves, final int[] scores, final int moveCount, final int hashMove) {
+		for (int i = 0; i < moveCount; i++) {
+			final int move = moves[i];
+			if (hashMove != TranspositionTable.NO_MOVE && MoveEncoding.isSameMove(move, hashMove)) {
+				scores[i] = HASH_MOVE_SCORE;
+			} else {
+				scores[i] = MovePicker.captureScore(move);
+			}
+		}
+	}
+
+	//A quiet move that refuted a position becomes a killer at its ply and gains history, so that it is tried early
+	//wherever it comes up again
+	private void updateQuietCutoff(final int move, final int depth, final int ply) {
+		final int shortMove = MoveEncoding.shortMove(move);
+		final int[] plyKillers = this.killers[ply];
+		if (plyKillers[0] != shortMove) {
+			plyKillers[1] = plyKillers[0];
+			plyKillers[0] = shortMove;
+		}
+		final int[] pieceHistory = this.history[MoveEncoding.getMovedPiece(move)];
+		final int to = MoveEncoding.getTo(move);
+		pieceHistory[to] += depth * depth;
+		if (pieceHistory[to] > MAX_HISTORY) {
+			ageHistory();
+		}
+	}
+
+	//Halves every history score. Done between searches as well, so the next search starts from what this one learned
+	//without being ruled by it
+	private void ageHistory() {
+		for (final int[] pieceHistory : this.history) {
+			for (int to = 0; to < pieceHistory.length; to++) {
+				pieceHistory[to] >>= 1;
+			}
+		}
+	}
+
+	//Mate scores are stored relative to the node rather than the root, so they stay correct when the same position
+	//is reached at a different ply
+	private static int scoreToTable(final int score, final int ply) {
+		if (score >= MATE_SCORE - MAX_PLY) {
+			return score + ply;
+		}
+		if (score <= -MATE_SCORE + MAX_PLY) {
+			return score - ply;
+		}
+		return score;
+	}
+
+	private static int scoreFromTable(final int score, final int ply) {
+		if (score >= MATE_SCORE - MAX_PLY) {
+			return score - ply;
+		}
+		if (score <= -MATE_SCORE + MAX_PLY) {
+			return score + ply;
+		}
+		return score;
+	}
+
+	//Follows the best moves stored in the transposition table from the root, starting with bestMove, for at most
+	//maxLength moves. The line stops early where an entry is missing or was overwritten by another position
+	private List<Move> principalVariation(final Board rootBoard, final int bestMove, final int maxLength) {
+		final List<Move> line = new ArrayList<>();
+		final MutableBoard board = new MutableBoard(this.board);
+		Board position = rootBoard;
+		int move = bestMove;
+		while (true) {
+			final Move pvMove = MoveEncoding.toMove(position, move);
+			if (pvMove == Move.NULL_MOVE) {
+				break;
+			}
+			line.add(pvMove);
+			if (line.size() >= maxLength || this.transpositionTable == null) {
+				break;
+			}
+			position = pvMove.execute();
+			board.makeMove(move);
+			move = board.toLegalMove(TranspositionTable.getMove(this.transpositionTable.probe(board.getZobristKey())));
+			if (move == MoveEncoding.NO_MOVE) {
+				break;
+			}
+		}
+		return line;
+	}
+
+	private int rootHashMove() {
+		if (this.transpositionTable == null) {
+			return TranspositionTable.NO_MOVE;
+		}
+		return TranspositionTable.getMove(this.transpositionTable.probe(this.board.getZobristKey()));
+	}
+
+	private boolean isOutOfBudget() {
+		if (this.nodes >= this.nodeLimit) {
+			return true;
+		}
+		if (this.nodes % CHECK_INTERVAL != 0) {
+			return false;
+		}
+		return this.stopped || (this.deadline != NO_LIMIT && System.nanoTime() > this.deadline);
+	}
+
+	//Both are on by default. Set them before a search starts
+	public void setNullMovePruning(final boolean nullMovePruning) {
+		this.nullMovePruning = nullMovePruning;
+	}
+
+	public void setLateMoveReductions(final boolean lateMoveReductions) {
+		this.lateMoveReductions = lateMoveReductions;
+	}
+
+	//The half-width of the first aspiration window in centipawns; 0 searches every iteration with the full window
+	public void setAspirationWindow(final int aspirationWindow) {
+		this.aspirationWindow = aspirationWindow;
+	}
+
+	//Searches on the clock use the time manager's limits in place of the fixed time limit; may be null
+	public void setTimeManager(final TimeManager timeManager) {
+		this.timeManager = timeManager;
+	}
+
+	//Told about each completed iteration; may be null
+	public void setSearchListener(final SearchListener listener) {
+		this.listener = listener;
+	}
+
+	//Asks a search running on another thread to finish. The iteration in progress is discarded
+	public void stop() {
+		this.stopped = true;
+	}
+
+	private long elapsedMillis() {
+		return (System.nanoTime() - this.startTime) / 1000000;
+	}
+
+	public long getNodes() {
+		return this.nodes;
+	}
+
+	public long getTableProbes() {
+		return this.tableProbes;
+	}
+
+	public long getTableHits() {
+		return this.tableHits;
+	}
+
+	//The results of every completed iteration of the last search, shallowest first
+	public List<SearchResult> getSearchResults() {
+		return Collections.unmodifiableList(this.results);
+	}
+
+	public SearchResult getLastSearchResult() {
+		return this.results.isEmpty() ? null : this.results.get(this.results.size() - 1);
+	}
+}
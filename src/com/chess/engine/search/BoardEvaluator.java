@@ -0,0 +1,9 @@
+package com.chess.engine.search;
+
+import com.chess.engine.board.MutableBoard;
+
+//A BoardEvaluator scores a position in centipawns from the point of view of the player to move
+public interface BoardEvaluator {
+
+	int evaluate(MutableBoard board);
+}
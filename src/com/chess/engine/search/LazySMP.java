@@ -0,0 +1,264 @@
+package com.chess.engine.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+
+//A Lazy SMP parallel search. Every thread runs its own AlphaBeta on the same root and they share only the
+//transposition table, so work one thread has done is found in the table by the others. Odd numbered helper threads
+//start one ply deeper than the main thread, which spreads the threads over different depths and move orders. When
+//any thread finishes its search the others are stopped, and the move is taken from the thread that completed the
+//deepest iteration
+public final class LazySMP implements MoveStrategy {
+
+	private final BoardEvaluator evaluator;
+	private final int maxDepth;
+	private final long timeLimitMillis;
+	private final long nodeLimit;
+	private final int threadCount;
+	private final TranspositionTable transpositionTable;
+	private final List<SearchResult> results;
+	private boolean nullMovePruning = true;
+	private boolean lateMoveReductions = true;
+	private int aspirationWindow = AlphaBeta.DEFAULT_ASPIRATION_WINDOW;
+	private SearchListener listener;
+	private TimeManager timeManager;
+	private volatile AlphaBeta[] searchers;
+	private volatile boolean stopRequested;
+	private int reportedDepth;
+
+	private long nodes;
+	private long elapsedMillis;
+
+	public LazySMP(final int threadCount, final int maxDepth, final long timeLimitMillis) {
+		this(new StandardBoardEvaluator(), threadCount, maxDepth, timeLimitMillis, AlphaBeta.NO_LIMIT,
+				new TranspositionTable());
+	}
+
+	//The node limit is shared out evenly between the threads. The threads only help each other through the
+	//transposition table, so one is required
+	public LazySMP(final BoardEvaluator evaluator, final int threadCount, final int maxDepth, final long timeLimitMillis,
+			final long nodeLimit, final TranspositionTable transpositionTable) {
+		if (threadCount < 1) {
+			throw new IllegalArgumentException("Thread count must be at least 1, got " + threadCount);
+		}
+		if (transpositionTable == null) {
+			throw new IllegalArgumentException("LazySMP needs a transposition table to share between its threads");
+		}
+		this.evaluator = evaluator;
+		this.threadCount = threadCount;
+		this.maxDepth = maxDepth;
+		this.timeLimitMillis = timeLimitMillis;
+		this.nodeLimit = nodeLimit;
+		this.transpositionTable = transpositionTable;
+		this.results = new ArrayList<>();
+	}
+
+	@Override
+	public Move execute(final Board board) {
+		final long threadNodeLimit = this.nodeLimit == AlphaBeta.NO_LIMIT ? AlphaBeta.NO_LIMIT
+				: Math.max(1, this.nodeLimit / this.threadCount);
+		final AlphaBeta[] searchers = new AlphaBeta[this.threadCount];
+		final Move[] bestMoves = new Move[this.threadCount];
+		for (int i = 0; i < this.threadCount; i++) {
+			searchers[i] = new AlphaBeta(this.evaluator, this.maxDepth, this.timeLimitMillis, threadNodeLimit,
+					this.transpositionTable);
+			searchers[i].setNullMovePruning(this.nullMovePruning);
+			searchers[i].setLateMoveReductions(this.lateMoveReductions);
+			searchers[i].setAspirationWindow(this.aspirationWindow);
+			if (this.timeManager != null) {
+				//Only the main thread decides when to stop, which ends the helpers as well. They keep the hard limit
+				searchers[i].setTimeManager(i == 0 ? this.timeManager
+						: TimeManager.forMoveTime(this.timeManager.getMaximumMillis()));
+			}
+			searchers[i].setSearchListener(new SearchListener() {
+				@Override
+				public void iterationCompleted(final SearchResult result) {
+					reportIteration(searchers, result);
+				}
+			});
+		}
+		this.reportedDepth = 0;
+		//A stop that arrived before the searchers existed is passed on to them here
+		this.searchers = searchers;
+		if (this.stopRequested) {
+			for (final AlphaBeta searcher : searchers) {
+				searcher.stop();
+			}
+		}
+		this.transpositionTable.newSearch();
+		final long startTime = System.nanoTime();
+
+		//The first exception thrown by a thread, passed on to the caller once all threads have ended
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+		final Thread[] threads = new Thread[this.threadCount];
+		for (int i = 0; i < this.threadCount; i++) {
+			final int threadIndex = i;
+			threads[i] = new Thread(new Runnable() {
+				@Override
+				public void run() {
+					try {
+						final int startDepth = Math.min(LazySMP.this.maxDepth, 1 + threadIndex % 2);
+						bestMoves[threadIndex] = searchers[threadIndex].search(board, startDepth, startTime);
+					} catch (final RuntimeException | Error e) {
+						failure.compareAndSet(null, e);
+					} finally {
+						//The first thread to finish, or fail, ends the search for all of them
+						for (final AlphaBeta searcher : searchers) {
+							searcher.stop();
+						}
+					}
+				}
+			}, "LazySMP-" + i);
+			threads[i].start();
+		}
+		for (final Thread thread : threads) {
+			try {
+				thread.join();
+			} catch (final InterruptedException e) {
+				for (final AlphaBeta searcher : searchers) {
+					searcher.stop();
+				}
+				Thread.currentThread().interrupt();
+			}
+		}
+		this.elapsedMillis = (System.nanoTime() - startTime) / 1000000;
+		this.searchers = null;
+		this.stopRequested = false;
+		//Threads can only throw unchecked exceptions, so the failure is one or the other
+		if (failure.get() instanceof Error) {
+			throw (Error) failure.get();
+		}
+		if (failure.get() != null) {
+			throw (RuntimeException) failure.get();
+		}
+		return collectResults(searchers, bestMoves);
+	}
+
+	//Ends the search running on another thread, which returns the move of the deepest iteration completed so far. A
+	//stop that arrives before execute has started its threads ends that search as soon as it starts
+	public void stop() {
+		this.stopRequested = true;
+		final AlphaBeta[] searchers = this.searchers;
+		if (searchers != null) {
+			for (final AlphaBeta searcher : searchers) {
+				searcher.stop();
+			}
+		}
+	}
+
+	//Passes on the first result of each depth from whichever thread completes it, with the nodes of all threads
+	private synchronized void reportIteration(final AlphaBeta[] searchers, final SearchResult result) {
+		if (this.listener == null || result.getDepth() <= this.reportedDepth) {
+			return;
+		}
+		this.reportedDepth = result.getDepth();
+		long nodes = 0;
+		for (final AlphaBeta searcher : searchers) {
+			nodes += searcher.getNodes();
+		}
+		this.listener.iterationCompleted(new SearchResult(result.getBestMove(), result.getScore(), result.getDepth(), nodes,
+				result.getElapsedMillis(), result.getPrincipalVariation(), result.getFailHighs(), result.getFailLows()));
+	}
+
+	//Picks the move of the deepest completed iteration, preferring the main thread on ties, and merges the threads'
+	//iterations into one result per depth taken from whichever thread completed that depth first
+	private Move collectResults(final AlphaBeta[] searchers, final Move[] bestMoves) {
+		this.results.clear();
+		this.nodes = 0;
+		int bestThread = 0;
+		int bestDepth = 0;
+		for (int i = 0; i < searchers.length; i++) {
+			this.nodes += searchers[i].getNodes();
+			final SearchResult last = searchers[i].getLastSearchResult();
+			if (last != null && last.getDepth() > bestDepth) {
+				bestDepth = last.getDepth();
+				bestThread = i;
+			}
+		}
+		for (int depth = 1; depth <= bestDepth; depth++) {
+			SearchResult first = null;
+			for (final AlphaBeta searcher : searchers) {
+				for (final SearchResult result : searcher.getSearchResults()) {
+					if (result.getDepth() == depth && (first == null || result.getElapsedMillis() < first.getElapsedMillis())) {
+						first = result;
+					}
+				}
+			}
+			if (first != null) {
+				this.results.add(new SearchResult(first.getBestMove(), first.getScore(), depth,
+						nodesSearchedBy(searchers, first.getElapsedMillis()), first.getElapsedMillis(),
+						first.getPrincipalVariation(), first.getFailHighs(), first.getFailLows()));
+			}
+		}
+		return bestMoves[bestThread];
+	}
+
+	//The nodes all threads had searched by the given time, counted from each thread's latest completed iteration
+	private static long nodesSearchedBy(final AlphaBeta[] searchers, final long elapsedMillis) {
+		long nodes = 0;
+		for (final AlphaBeta searcher : searchers) {
+			long threadNodes = 0;
+			for (final SearchResult result : searcher.getSearchResults()) {
+				if (result.getElapsedMillis() <= elapsedMillis) {
+					threadNodes = Math.max(threadNodes, result.getNodes());
+				}
+			}
+			nodes += threadNodes;
+		}
+		return nodes;
+	}
+
+	//Passed on to the AlphaBeta of every thread, see AlphaBeta.setNullMovePruning
+	public void setNullMovePruning(final boolean nullMovePruning) {
+		this.nullMovePruning = nullMovePruning;
+	}
+
+	public void setLateMoveReductions(final boolean lateMoveReductions) {
+		this.lateMoveReductions = lateMoveReductions;
+	}
+
+	public void setAspirationWindow(final int aspirationWindow) {
+		this.aspirationWindow = aspirationWindow;
+	}
+
+	//See AlphaBeta.setTimeManager. Only the main thread consults it between iterations
+	public void setTimeManager(final TimeManager timeManager) {
+		this.timeManager = timeManager;
+	}
+
+	//Told about each depth the first time any thread completes it; may be null
+	public void setSearchListener(final SearchListener listener) {
+		this.listener = listener;
+	}
+
+	public int getThreadCount() {
+		return this.threadCount;
+	}
+
+	//Total nodes searched by all threads in the last search
+	public long getNodes() {
+		return this.nodes;
+	}
+
+	public long getElapsedMillis() {
+		return this.elapsedMillis;
+	}
+
+	public long getNodesPerSecond() {
+		return this.nodes * 1000 / Math.max(1, this.elapsedMillis);
+	}
+
+	//The time to reach each depth in the last search, shallowest first
+	public List<SearchResult> getSearchResults() {
+		return Collections.unmodifiableList(this.results);
+	}
+
+	public SearchResult getLastSearchResult() {
+		return this.results.isEmpty() ? null : this.results.get(this.results.size() - 1);
+	}
+}
@@ -0,0 +1,174 @@
+package com.chess.engine.search;
+
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.MoveEncoding;
+import com.chess.engine.board.MutableBoard;
+import com.chess.engine.pieces.Piece.PieceType;
+
+//Hands out the legal moves of a position one at a time, in the order most likely to cause an early cutoff: the move
+//from the transposition table, captures and promotions by most valuable victim and least valuable attacker, the
+//killer moves of the ply (quiet moves that caused a cutoff in a sibling position), and then the remaining quiet moves
+//by history score. Each stage is generated only once the stage before it is used up, so a cutoff on the hash move or
+//a capture never generates the quiet moves at all.
+//AlphaBeta keeps one picker per ply, so picking allocates nothing
+final class MovePicker {
+
+	private static final int HASH_MOVE = 0;
+	private static final int GENERATE_CAPTURES = 1;
+	private static final int CAPTURES = 2;
+	private static final int FIRST_KILLER = 3;
+	private static final int SECOND_KILLER = 4;
+	private static final int GENERATE_QUIETS = 5;
+	private static final int QUIETS = 6;
+	private static final int DONE = 7;
+
+	private static final int[] PIECE_VALUES = new int[BitBoard.NUM_PIECE_INDICES];
+
+	static {
+		for (int i = 0; i < BitBoard.NUM_PIECE_INDICES; i++) {
+			PIECE_VALUES[i] = PieceType.values()[i % BitBoard.NUM_PIECE_TYPES].getPieceValue();
+		}
+	}
+
+	private final int[] moves;
+	private final int[] scores;
+	//Indexed by moved piece, then destination tile; shared by every picker of a search
+	private final int[][] history;
+
+	private MutableBoard board;
+	private int stage;
+	private int hashMove;
+	private int firstKiller;
+	private int secondKiller;
+	private int moveCount;
+	private int index;
+
+	MovePicker(final int[][] history) {
+		this.moves = new int[MutableBoard.MAX_MOVES];
+		this.scores = new int[MutableBoard.MAX_MOVES];
+		this.history = history;
+	}
+
+	//All three are MoveEncoding.shortMove values; any of them may be NO_MOVE or not legal in this position
+	void reset(final MutableBoard board, final int hashMove, final int firstKiller, final int secondKiller) {
+		this.board = board;
+		this.stage = HASH_MOVE;
+		this.hashMove = hashMove;
+		this.firstKiller = firstKiller;
+		this.secondKiller = secondKiller;
+	}
+
+	//Returns the next move, or MoveEncoding.NO_MOVE once every legal move has been handed out
+	int next() {
+		while (true) {
+			switch (this.stage) {
+				case HASH_MOVE:
+					this.stage = GENERATE_CAPTURES;
+					if (this.hashMove != MoveEncoding.NO_MOVE) {
+						final int move = this.board.toLegalMove(this.hashMove);
+						if (move != MoveEncoding.NO_MOVE) {
+							return move;
+						}
+						this.hashMove = MoveEncoding.NO_MOVE;
+					}
+					break;
+				case GENERATE_CAPTURES:
+					this.moveCount = this.board.generateCapturesAndPromotions(this.moves);
+					for (int i = 0; i < this.moveCount; i++) {
+						this.scores[i] = captureScore(this.moves[i]);
+					}
+					this.index = 0;
+					this.stage = CAPTURES;
+					break;
+				case CAPTURES:
+					while (this.index < this.moveCount) {
+						final int move = selectMove(this.moves, this.scores, this.index++, this.moveCount);
+						if (!MoveEncoding.isSameMove(move, this.hashMove)) {
+							return move;
+						}
+					}
+					this.stage = FIRST_KILLER;
+					break;
+				case FIRST_KILLER:
+					this.stage = SECOND_KILLER;
+					this.firstKiller = toKillerMove(this.firstKiller);
+					if (this.firstKiller != MoveEncoding.NO_MOVE) {
+						return this.firstKiller;
+					}
+					break;
+				case SECOND_KILLER:
+					this.stage = GENERATE_QUIETS;
+					this.secondKiller = toKillerMove(this.secondKiller);
+					if (this.secondKiller != MoveEncoding.NO_MOVE) {
+						return this.secondKiller;
+					}
+					break;
+				case GENERATE_QUIETS:
+					this.moveCount = this.board.generateQuietMoves(this.moves);
+					for (int i = 0; i < this.moveCount; i++) {
+						final int move = this.moves[i];
+						this.scores[i] = this.history[MoveEncoding.getMovedPiece(move)][MoveEncoding.getTo(move)];
+					}
+					this.index = 0;
+					this.stage = QUIETS;
+					break;
+				case QUIETS:
+					while (this.index < this.moveCount) {
+						final int move = selectMove(this.moves, this.scores, this.index++, this.moveCount);
+						if (!MoveEncoding.isSameMove(move, this.hashMove) && move != this.firstKiller && move != this.secondKiller) {
+							return move;
+						}
+					}
+					this.stage = DONE;
+					break;
+				default:
+					return MoveEncoding.NO_MOVE;
+			}
+		}
+	}
+
+	//Whether the last move handed out was one of the quiet moves after the killers, which are the ones ordered by
+	//nothing better than history and so the ones worth reducing
+	boolean isPickingQuietMoves() {
+		return this.stage == QUIETS;
+	}
+
+	//Killers come from sibling positions, so each is only searched if it is a legal quiet move here and was not already
+	//searched as the hash move. Returns the full move, or NO_MOVE
+	private int toKillerMove(final int killer) {
+		if (killer == MoveEncoding.NO_MOVE || killer == this.hashMove) {
+			return MoveEncoding.NO_MOVE;
+		}
+		final int move = this.board.toLegalMove(killer);
+		if (move == MoveEncoding.NO_MOVE || MoveEncoding.isCapture(move) || MoveEncoding.isPromotion(move)) {
+			return MoveEncoding.NO_MOVE;
+		}
+		return move;
+	}
+
+	//Captures of the most valuable pieces by the least valuable attackers first, then promotions to a queen
+	static int captureScore(final int move) {
+		if (MoveEncoding.isCapture(move)) {
+			return PIECE_VALUES[MoveEncoding.getCapturedPiece(move)] * 16 - PIECE_VALUES[MoveEncoding.getMovedPiece(move)] + 16;
+		}
+		return MoveEncoding.getFlag(move) == MoveEncoding.PROMOTE_QUEEN ? 15 : 0;
+	}
+
+	//Swaps the highest scoring of the remaining moves into position index and returns it. Picking moves one at a time
+	//costs nothing for the moves that are never reached after a cutoff
+	static int selectMove(final int[] moves, final int[] scores, final int index, final int moveCount) {
+		int best = index;
+		for (int i = index + 1; i < moveCount; i++) {
+			if (scores[i] > scores[best]) {
+				best = i;
+			}
+		}
+		final int move = moves[best];
+		moves[best] = moves[index];
+		moves[index] = move;
+		final int score = scores[best];
+		scores[best] = scores[index];
+		scores[index] = score;
+		return move;
+	}
+}
@@ -0,0 +1,10 @@
+package com.chess.engine.search;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+
+//A MoveStrategy chooses the move a computer player makes on a board
+public interface MoveStrategy {
+
+	Move execute(Board board);
+}
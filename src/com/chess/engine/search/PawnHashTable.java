@@ -0,0 +1,82 @@
+package com.chess.engine.search;
+
+import java.util.Arrays;
+
+//A small fixed-size cache of pawn structure scores keyed by the pawn-only Zobrist key of MutableBoard. Pawns move far
+//less often than the other pieces, so most positions a search evaluates share their pawns with one evaluated before.
+//Entries are laid out like those of the TranspositionTable, the data and the key XORed with it, so the table can be
+//shared between threads without locks. The probe and hit counters are not synchronized and may miss a few counts
+//when several threads use the table
+public final class PawnHashTable {
+
+	public static final int DEFAULT_SIZE_KB = 1024;
+
+	private static final int BYTES_PER_ENTRY = 16;
+	//Set in every stored entry so that stored data is never zero
+	private static final long VALID = 1L << 32;
+
+	private final long[] slots;
+	private final int entryMask;
+	private long probes;
+	private long hits;
+
+	public PawnHashTable() {
+		this(DEFAULT_SIZE_KB);
+	}
+
+	//The number of entries is the largest power of two that fits in sizeKB
+	public PawnHashTable(final int sizeKB) {
+		if (sizeKB <= 0) {
+			throw new IllegalArgumentException("Pawn hash table size must be positive, got " + sizeKB + " KB");
+		}
+		final int entries = Integer.highestOneBit(sizeKB * 1024 / BYTES_PER_ENTRY);
+		this.slots = new long[entries * 2];
+		this.entryMask = entries - 1;
+	}
+
+	//Returns the stored entry for key, or 0 if there is none. Use getScore to unpack it
+	public long probe(final long pawnKey) {
+		this.probes++;
+		final int index = entryIndex(pawnKey);
+		final long data = this.slots[index + 1];
+		if (data != 0 && (this.slots[index] ^ data) == pawnKey) {
+			this.hits++;
+			return data;
+		}
+		return 0L;
+	}
+
+	public void store(final long pawnKey, final int score) {
+		final int index = entryIndex(pawnKey);
+		final long data = (score & 0xFFFFFFFFL) | VALID;
+		this.slots[index] = pawnKey ^ data;
+		this.slots[index + 1] = data;
+	}
+
+	public static int getScore(final long data) {
+		return (int) data;
+	}
+
+	private int entryIndex(final long pawnKey) {
+		return ((int) (pawnKey ^ (pawnKey >>> 32)) & this.entryMask) * 2;
+	}
+
+	public void clear() {
+		Arrays.fill(this.slots, 0L);
+		this.probes = 0;
+		this.hits = 0;
+	}
+
+	public long getProbes() {
+		return this.probes;
+	}
+
+	public long getHits() {
+		return this.hits;
+	}
+
+	//The share of probes that found an entry, in percent
+	public double getHitRate() {
+		return this.probes == 0 ? 0.0 : this.hits * 100.0 / this.probes;
+	}
+}
@@ -0,0 +1,82 @@
+package com.chess.engine.search;
+
+import java.util.List;
+
+import com.chess.engine.board.Move;
+import com.chess.engine.perft.PerftPosition;
+
+//Measures time to depth of the LazySMP search on the perft reference positions, so runs with different thread
+//counts can be compared.
+//Usage: SearchBenchmark [-threads N] [-depth N] [-hash MB] [-window CP] [-nonullmove] [-nolmr] [position]
+//Each position is searched with a fresh transposition table. -nonullmove and -nolmr switch off null-move pruning and
+//late-move reductions, to measure the depth each of them gains. -window sets the aspiration window half-width, 0 for
+//full-window searches; each depth reports how often its root search failed high and low
+public final class SearchBenchmark {
+
+	private static final int DEFAULT_DEPTH = 6;
+
+	private SearchBenchmark() {
+		throw new RuntimeException("Cannot instantiate object of type SearchBenchmark");
+	}
+
+	public static void main(final String[] args) {
+		int threads = 1;
+		int depth = DEFAULT_DEPTH;
+		int hashSizeMB = TranspositionTable.DEFAULT_SIZE_MB;
+		int aspirationWindow = AlphaBeta.DEFAULT_ASPIRATION_WINDOW;
+		boolean nullMovePruning = true;
+		boolean lateMoveReductions = true;
+		PerftPosition selectedPosition = null;
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-threads")) {
+				threads = Integer.parseInt(args[++i]);
+			} else if (args[i].equals("-depth")) {
+				depth = Integer.parseInt(args[++i]);
+			} else if (args[i].equals("-hash")) {
+				hashSizeMB = Integer.parseInt(args[++i]);
+			} else if (args[i].equals("-window")) {
+				aspirationWindow = Integer.parseInt(args[++i]);
+			} else if (args[i].equals("-nonullmove")) {
+				nullMovePruning = false;
+			} else if (args[i].equals("-nolmr")) {
+				lateMoveReductions = false;
+			} else {
+				selectedPosition = PerftPosition.valueOf(args[i].toUpperCase());
+			}
+		}
+
+		final PerftPosition[] positions = selectedPosition == null ? PerftPosition.values() : new PerftPosition[] { selectedPosition };
+		long totalNodes = 0;
+		long totalMillis = 0;
+		for (final PerftPosition position : positions) {
+			final StandardBoardEvaluator evaluator = new StandardBoardEvaluator();
+			final LazySMP search = new LazySMP(evaluator, threads, depth, AlphaBeta.NO_LIMIT,
+					AlphaBeta.NO_LIMIT, new TranspositionTable(hashSizeMB));
+			search.setNullMovePruning(nullMovePruning);
+			search.setLateMoveReductions(lateMoveReductions);
+			search.setAspirationWindow(aspirationWindow);
+			final Move bestMove = search.execute(position.createBoard());
+			System.out.println(position + " (" + threads + " threads)");
+			for (final SearchResult result : search.getSearchResults()) {
+				System.out.println(String.format("  depth %2d  time to depth %,8d ms  score %6d  fail high %d low %d  pv%s",
+						result.getDepth(), result.getElapsedMillis(), result.getScore(), result.getFailHighs(),
+						result.getFailLows(), formatLine(result.getPrincipalVariation())));
+			}
+			System.out.println(String.format("  best %s  nodes %,d  time %,d ms  %,d nps  pawn hash hits %.1f%%", bestMove,
+					search.getNodes(), search.getElapsedMillis(), search.getNodesPerSecond(),
+					evaluator.getPawnHashTable().getHitRate()));
+			totalNodes += search.getNodes();
+			totalMillis += search.getElapsedMillis();
+		}
+		System.out.println(String.format("Total: nodes %,d  time %,d ms  %,d nps", totalNodes, totalMillis,
+				totalNodes * 1000 / Math.max(1, totalMillis)));
+	}
+
+	private static String formatLine(final List<Move> line) {
+		final StringBuilder builder = new StringBuilder();
+		for (final Move move : line) {
+			builder.append(' ').append(move);
+		}
+		return builder.toString();
+	}
+}
@@ -0,0 +1,8 @@
+package com.chess.engine.search;
+
+//Told about every iteration of a search as soon as it completes, so that progress can be shown while the search is
+//still running. Called on the search thread, so implementations should return quickly
+public interface SearchListener {
+
+	void iterationCompleted(SearchResult result);
+}
@@ -0,0 +1,80 @@
+package com.chess.engine.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import com.chess.engine.board.Move;
+
+//The outcome of one completed iteration of a search. The fail-high and fail-low counts are how often the root search
+//of the iteration fell outside its aspiration window and had to be searched again with a wider one
+public final class SearchResult {
+
+	private final Move bestMove;
+	private final int score;
+	private final int depth;
+	private final long nodes;
+	private final long elapsedMillis;
+	private final List<Move> principalVariation;
+	private final int failHighs;
+	private final int failLows;
+
+	public SearchResult(final Move bestMove, final int score, final int depth, final long nodes, final long elapsedMillis,
+			final List<Move> principalVariation, final int failHighs, final int failLows) {
+		this.bestMove = bestMove;
+		this.score = score;
+		this.depth = depth;
+		this.nodes = nodes;
+		this.elapsedMillis = elapsedMillis;
+		this.principalVariation = Collections.unmodifiableList(new ArrayList<>(principalVariation));
+		this.failHighs = failHighs;
+		this.failLows = failLows;
+	}
+
+	public Move getBestMove() {
+		return this.bestMove;
+	}
+
+	public int getScore() {
+		return this.score;
+	}
+
+	public int getDepth() {
+		return this.depth;
+	}
+
+	public long getNodes() {
+		return this.nodes;
+	}
+
+	public long getElapsedMillis() {
+		return this.elapsedMillis;
+	}
+
+	//The line of play the search expects, starting with the best move
+	public List<Move> getPrincipalVariation() {
+		return this.principalVariation;
+	}
+
+	public int getFailHighs() {
+		return this.failHighs;
+	}
+
+	public int getFailLows() {
+		return this.failLows;
+	}
+
+	public long getNodesPerSecond() {
+		return this.nodes * 1000 / Math.max(1, this.elapsedMillis);
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder pv = new StringBuilder();
+		for (final Move move : this.principalVariation) {
+			pv.append(' ').append(move);
+		}
+		return String.format("depth %d score %d nodes %d time %d ms nps %d best %s pv%s", this.depth, this.score, this.nodes,
+				this.elapsedMillis, getNodesPerSecond(), this.bestMove, pv);
+	}
+}
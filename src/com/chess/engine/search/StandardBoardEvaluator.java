@@ -0,0 +1,180 @@
+package com.chess.engine.search;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.AttackTables;
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.MutableBoard;
+import com.chess.engine.board.PieceSquareTables;
+import com.chess.engine.pieces.Piece.PieceType;
+
+//Scores a board by material and piece-square values, mobility, pawn structure and king safety. Every term has a
+//middlegame and an endgame weight, and the two totals are blended by game phase. Material and piece-square values are
+//the running totals MutableBoard keeps, and pawn structure is looked up in a PawnHashTable by the board's pawn key,
+//so only the remaining terms are worked out at every leaf.
+//Terms are added up from white's point of view; middlegame and endgame parts travel together packed into one int as
+//endgame * 65536 + middlegame
+public final class StandardBoardEvaluator implements BoardEvaluator {
+
+	private static final int WHITE = Alliance.WHITE.ordinal();
+	private static final int BLACK = Alliance.BLACK.ordinal();
+
+	private static final int MOBILITY = score(4, 2);
+	private static final int DOUBLED_PAWN = score(-10, -20);
+	private static final int ISOLATED_PAWN = score(-10, -15);
+	private static final int BACKWARD_PAWN = score(-8, -10);
+	//Indexed by how many rows a passed pawn has advanced from its starting row
+	private static final int[] PASSED_PAWN = {
+		score(0, 0), score(5, 10), score(10, 20), score(20, 40), score(35, 70), score(60, 120)
+	};
+	private static final int PAWN_SHIELD = score(12, 0);
+	//Per tile next to the king attacked by an opposing piece of each type
+	private static final int[] KING_ZONE_ATTACK = { 0, score(-6, 0), score(-6, 0), score(-8, 0), score(-12, 0), 0 };
+
+	private static final long[] FILE_MASKS = new long[8];
+	private static final long[] ADJACENT_FILE_MASKS = new long[8];
+	//Indexed by side, then tile: the tiles in front of a pawn on its own and adjacent files
+	private static final long[][] PASSED_PAWN_MASKS = new long[2][64];
+	//Indexed by side, then tile: the tiles on the adjacent files level with or behind a pawn, where a pawn could
+	//still defend it
+	private static final long[][] SUPPORT_MASKS = new long[2][64];
+
+	static {
+		for (int file = 0; file < 8; file++) {
+			FILE_MASKS[file] = 0x0101010101010101L << file;
+		}
+		for (int file = 0; file < 8; file++) {
+			ADJACENT_FILE_MASKS[file] = (file > 0 ? FILE_MASKS[file - 1] : 0L) | (file < 7 ? FILE_MASKS[file + 1] : 0L);
+		}
+		for (int tile = 0; tile < 64; tile++) {
+			final long files = FILE_MASKS[tile & 7] | ADJACENT_FILE_MASKS[tile & 7];
+			final int row = tile >>> 3;
+			//White pawns advance towards row 0, black pawns towards row 7
+			final long rowsAboveWhite = row == 0 ? 0L : -1L >>> (64 - row * 8);
+			final long rowsBelowBlack = row == 7 ? 0L : -1L << ((row + 1) * 8);
+			PASSED_PAWN_MASKS[WHITE][tile] = files & rowsAboveWhite;
+			PASSED_PAWN_MASKS[BLACK][tile] = files & rowsBelowBlack;
+			SUPPORT_MASKS[WHITE][tile] = ADJACENT_FILE_MASKS[tile & 7] & ~rowsAboveWhite;
+			SUPPORT_MASKS[BLACK][tile] = ADJACENT_FILE_MASKS[tile & 7] & ~rowsBelowBlack;
+		}
+	}
+
+	private final PawnHashTable pawnHashTable;
+
+	public StandardBoardEvaluator() {
+		this(new PawnHashTable());
+	}
+
+	//A null pawnHashTable works out pawn structure at every evaluation. The table may be shared between threads
+	public StandardBoardEvaluator(final PawnHashTable pawnHashTable) {
+		this.pawnHashTable = pawnHashTable;
+	}
+
+	public PawnHashTable getPawnHashTable() {
+		return this.pawnHashTable;
+	}
+
+	@Override
+	public int evaluate(final MutableBoard board) {
+		int total = score(board.getMidgameScore(), board.getEndgameScore());
+		total += MOBILITY * (board.countMobility(Alliance.WHITE) - board.countMobility(Alliance.BLACK));
+		total += pawnStructure(board);
+		total += kingSafety(board, WHITE) - kingSafety(board, BLACK);
+		final int score = PieceSquareTables.taper(midgame(total), endgame(total), board.getPhase());
+		return board.getSideToMove().isWhite() ? score : -score;
+	}
+
+	//Pawn structure depends on nothing but the pawns, so it is cached by pawn key
+	private int pawnStructure(final MutableBoard board) {
+		if (this.pawnHashTable == null) {
+			return pawnStructure(board, WHITE) - pawnStructure(board, BLACK);
+		}
+		final long entry = this.pawnHashTable.probe(board.getPawnKey());
+		if (entry != 0) {
+			return PawnHashTable.getScore(entry);
+		}
+		final int score = pawnStructure(board, WHITE) - pawnStructure(board, BLACK);
+		this.pawnHashTable.store(board.getPawnKey(), score);
+		return score;
+	}
+
+	//Doubled, isolated, backward and passed pawns of one side
+	private static int pawnStructure(final MutableBoard board, final int side) {
+		final long pawns = board.getPieces(pieceIndex(side, PieceType.PAWN));
+		final long enemyPawns = board.getPieces(pieceIndex(side ^ 1, PieceType.PAWN));
+		int total = 0;
+		for (int file = 0; file < 8; file++) {
+			final int pawnsOnFile = BitBoard.bitCount(pawns & FILE_MASKS[file]);
+			if (pawnsOnFile > 1) {
+				total += DOUBLED_PAWN * (pawnsOnFile - 1);
+			}
+			if (pawnsOnFile > 0 && (pawns & ADJACENT_FILE_MASKS[file]) == 0) {
+				total += ISOLATED_PAWN * pawnsOnFile;
+			}
+		}
+		long remaining = pawns;
+		while (remaining != 0) {
+			final int tile = BitBoard.lowestSquare(remaining);
+			remaining &= remaining - 1;
+			if ((PASSED_PAWN_MASKS[side][tile] & enemyPawns) == 0) {
+				final int row = tile >>> 3;
+				total += PASSED_PAWN[side == WHITE ? 6 - row : row - 1];
+			} else if ((SUPPORT_MASKS[side][tile] & pawns) == 0) {
+				//A pawn no other pawn can defend is backward when an opposing pawn guards the tile in front of it
+				final int stopTile = side == WHITE ? tile - 8 : tile + 8;
+				if ((AttackTables.pawnAttacks(side == WHITE ? Alliance.WHITE : Alliance.BLACK, stopTile) & enemyPawns) != 0) {
+					total += BACKWARD_PAWN;
+				}
+			}
+		}
+		return total;
+	}
+
+	//Pawns sheltering the king, less the tiles around it that opposing pieces attack
+	private static int kingSafety(final MutableBoard board, final int side) {
+		final int kingTile = BitBoard.lowestSquare(board.getPieces(pieceIndex(side, PieceType.KING)));
+		final long kingZone = AttackTables.kingAttacks(kingTile);
+		//The tiles next to the king on the rows in front of it
+		final long shieldRows = side == WHITE ? kingZone & (BitBoard.squareMask(kingTile & ~7) - 1)
+				: kingZone & ~((BitBoard.squareMask(kingTile | 7) << 1) - 1);
+		int total = PAWN_SHIELD * BitBoard.bitCount(shieldRows & board.getPieces(pieceIndex(side, PieceType.PAWN)));
+
+		final long occupancy = board.getOccupancy();
+		for (int pieceType = PieceType.KNIGHT.ordinal(); pieceType <= PieceType.QUEEN.ordinal(); pieceType++) {
+			long attackers = board.getPieces((side ^ 1) * BitBoard.NUM_PIECE_TYPES + pieceType);
+			while (attackers != 0) {
+				final int tile = BitBoard.lowestSquare(attackers);
+				attackers &= attackers - 1;
+				total += KING_ZONE_ATTACK[pieceType] * BitBoard.bitCount(attacks(tile, pieceType, occupancy) & kingZone);
+			}
+		}
+		return total;
+	}
+
+	private static long attacks(final int tile, final int pieceType, final long occupancy) {
+		if (pieceType == PieceType.KNIGHT.ordinal()) {
+			return AttackTables.knightAttacks(tile);
+		} else if (pieceType == PieceType.BISHOP.ordinal()) {
+			return AttackTables.bishopAttacks(tile, occupancy);
+		} else if (pieceType == PieceType.ROOK.ordinal()) {
+			return AttackTables.rookAttacks(tile, occupancy);
+		}
+		return AttackTables.queenAttacks(tile, occupancy);
+	}
+
+	private static int pieceIndex(final int side, final PieceType pieceType) {
+		return side * BitBoard.NUM_PIECE_TYPES + pieceType.ordinal();
+	}
+
+	private static int score(final int midgame, final int endgame) {
+		return (endgame << 16) + midgame;
+	}
+
+	private static int midgame(final int score) {
+		return (short) score;
+	}
+
+	//Rounds so that a negative middlegame part borrowing from the endgame part is undone
+	private static int endgame(final int score) {
+		return (score + 0x8000) >> 16;
+	}
+}
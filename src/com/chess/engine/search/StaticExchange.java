@@ -0,0 +1,97 @@
+package com.chess.engine.search;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.AttackTables;
+import com.chess.engine.board.BitBoard;
+import com.chess.engine.board.MoveEncoding;
+import com.chess.engine.board.MutableBoard;
+import com.chess.engine.pieces.Piece.PieceType;
+
+//Static exchange evaluation: what a capture wins or loses in centipawns once both sides have recaptured on its
+//destination tile with their least valuable attackers for as long as that pays. Pieces that move off a line reveal
+//the sliders behind them, so x-ray attackers join the exchange. Pins and checks are ignored; the result is an estimate
+//used to skip captures not worth searching, not a search of its own.
+//Each search thread keeps its own instance, which reuses one buffer so that evaluating allocates nothing
+public final class StaticExchange {
+
+	//Indexed by piece type; the king is worth more than anything it could win, so it only recaptures last
+	private static final int[] VALUES = { 100, 325, 325, 500, 975, 20000 };
+	private static final int MAX_EXCHANGES = 32;
+
+	//gains[i] is what the side making the i-th capture has won if the exchange stops after it
+	private final int[] gains = new int[MAX_EXCHANGES];
+
+	public int evaluate(final MutableBoard board, final int move) {
+		final int from = MoveEncoding.getFrom(move);
+		final int to = MoveEncoding.getTo(move);
+		final int flag = MoveEncoding.getFlag(move);
+		final int capturedPiece = MoveEncoding.getCapturedPiece(move);
+		int side = MoveEncoding.getMovedPiece(move) / BitBoard.NUM_PIECE_TYPES;
+
+		final int[] gains = this.gains;
+		gains[0] = capturedPiece == BitBoard.NO_PIECE ? 0 : VALUES[capturedPiece % BitBoard.NUM_PIECE_TYPES];
+		int pieceOnTarget = MoveEncoding.getMovedPiece(move) % BitBoard.NUM_PIECE_TYPES;
+		if (MoveEncoding.isPromotion(move)) {
+			pieceOnTarget = PieceType.KNIGHT.ordinal() + flag - MoveEncoding.PROMOTE_KNIGHT;
+			gains[0] += VALUES[pieceOnTarget] - VALUES[PieceType.PAWN.ordinal()];
+		}
+
+		long occupancy = board.getOccupancy() & ~BitBoard.squareMask(from);
+		if (flag == MoveEncoding.EN_PASSANT) {
+			occupancy &= ~BitBoard.squareMask(side == 0 ? to + 8 : to - 8);
+		}
+		long attackers = attackersOf(board, to, occupancy) & occupancy;
+
+		int exchange = 0;
+		while (exchange < MAX_EXCHANGES - 1) {
+			side ^= 1;
+			final long sideAttackers = attackers & board.getOccupancy(side == 0 ? Alliance.WHITE : Alliance.BLACK);
+			if (sideAttackers == 0) {
+				break;
+			}
+			int attackerType = 0;
+			long attacker = 0L;
+			for (; attackerType < BitBoard.NUM_PIECE_TYPES; attackerType++) {
+				attacker = sideAttackers & board.getPieces(side * BitBoard.NUM_PIECE_TYPES + attackerType);
+				if (attacker != 0) {
+					break;
+				}
+			}
+			exchange++;
+			gains[exchange] = VALUES[pieceOnTarget] - gains[exchange - 1];
+			pieceOnTarget = attackerType;
+			occupancy &= ~(attacker & -attacker);
+			//Sliders behind the piece that just captured now see the tile
+			attackers = (attackers | sliderAttackersOf(board, to, occupancy)) & occupancy;
+		}
+		//Working back from the last capture, each side only makes its capture if that beats stopping before it
+		while (exchange > 0) {
+			gains[exchange - 1] = -Math.max(-gains[exchange - 1], gains[exchange]);
+			exchange--;
+		}
+		return gains[0];
+	}
+
+	//Pieces of both sides that attack a tile given an occupancy
+	private static long attackersOf(final MutableBoard board, final int tile, final long occupancy) {
+		final long knights = board.getPieces(pieceIndex(0, PieceType.KNIGHT)) | board.getPieces(pieceIndex(1, PieceType.KNIGHT));
+		final long kings = board.getPieces(pieceIndex(0, PieceType.KING)) | board.getPieces(pieceIndex(1, PieceType.KING));
+		//A pawn of one side on the tile attacks exactly the tiles a pawn of the other side could attack it from
+		return (AttackTables.pawnAttacks(Alliance.WHITE, tile) & board.getPieces(pieceIndex(1, PieceType.PAWN)))
+				| (AttackTables.pawnAttacks(Alliance.BLACK, tile) & board.getPieces(pieceIndex(0, PieceType.PAWN)))
+				| (AttackTables.knightAttacks(tile) & knights)
+				| (AttackTables.kingAttacks(tile) & kings)
+				| sliderAttackersOf(board, tile, occupancy);
+	}
+
+	private static long sliderAttackersOf(final MutableBoard board, final int tile, final long occupancy) {
+		final long queens = board.getPieces(pieceIndex(0, PieceType.QUEEN)) | board.getPieces(pieceIndex(1, PieceType.QUEEN));
+		final long rooks = board.getPieces(pieceIndex(0, PieceType.ROOK)) | board.getPieces(pieceIndex(1, PieceType.ROOK)) | queens;
+		final long bishops = board.getPieces(pieceIndex(0, PieceType.BISHOP)) | board.getPieces(pieceIndex(1, PieceType.BISHOP)) | queens;
+		return (AttackTables.rookAttacks(tile, occupancy) & rooks) | (AttackTables.bishopAttacks(tile, occupancy) & bishops);
+	}
+
+	private static int pieceIndex(final int side, final PieceType pieceType) {
+		return side * BitBoard.NUM_PIECE_TYPES + pieceType.ordinal();
+	}
+}
@@ -0,0 +1,85 @@
+package com.chess.engine.search;
+
+//Decides how long a search on the clock may think. The remaining time, increment and moves to go give two limits: a
+//hard limit the search is aborted at, even mid-iteration, and an optimum time that sets when no new iteration is
+//started. The optimum is adjusted after every iteration. It grows when the best move keeps changing, since the search
+//has not yet settled on a move, and shrinks when the best move took up most of the iteration's nodes, since every
+//other move was refuted quickly and a deeper search is unlikely to change the choice.
+//A TimeManager belongs to one search; only the thread that runs the iterative deepening loop updates it
+public final class TimeManager {
+
+	//Kept back from the clock for the time it takes the move to reach the GUI
+	public static final long DEFAULT_MOVE_OVERHEAD_MILLIS = 50;
+
+	//Without moves to go, the remaining time is shared out as if this many moves were left
+	private static final int DEFAULT_MOVES_TO_GO = 30;
+	//The hard limit is at most this many times the optimum, and never more than this share of the clock
+	private static final int MAX_STRETCH = 5;
+	private static final double MAX_CLOCK_SHARE = 0.75;
+	//Each iteration halves the weight of earlier best move changes
+	private static final double CHANGE_DECAY = 0.5;
+	//At this share of an iteration's nodes spent on the best move the optimum is left as it is; more shrinks it and
+	//less stretches it
+	private static final double NEUTRAL_BEST_MOVE_EFFORT = 0.6;
+	private static final double EFFORT_WEIGHT = 1.25;
+
+	private final long optimumMillis;
+	private final long maximumMillis;
+	private final boolean adaptive;
+	private double bestMoveChanges;
+	private long softLimitMillis;
+
+	private TimeManager(final long optimumMillis, final long maximumMillis, final boolean adaptive) {
+		this.optimumMillis = optimumMillis;
+		this.maximumMillis = maximumMillis;
+		this.adaptive = adaptive;
+		this.softLimitMillis = optimumMillis;
+	}
+
+	//For a clock with remainingMillis left, incrementMillis added per move and movesToGo moves to the next time
+	//control, or 0 when the rest of the game must be played in the remaining time
+	public static TimeManager forClock(final long remainingMillis, final long incrementMillis, final int movesToGo,
+			final long overheadMillis) {
+		final long available = Math.max(1, remainingMillis - overheadMillis);
+		final int moves = movesToGo > 0 ? movesToGo : DEFAULT_MOVES_TO_GO;
+		final long optimum = Math.max(1, Math.min(available, available / moves + incrementMillis * 3 / 4));
+		final long maximum = Math.max(optimum, Math.min(optimum * MAX_STRETCH, (long) (available * MAX_CLOCK_SHARE)));
+		return new TimeManager(optimum, maximum, true);
+	}
+
+	//For a fixed time per move, which is used in full
+	public static TimeManager forMoveTime(final long moveTimeMillis) {
+		return new TimeManager(moveTimeMillis, moveTimeMillis, false);
+	}
+
+	//Called after each completed iteration with whether its best move differs from the previous iteration's, and
+	//how many of the iteration's nodes were spent searching that move
+	public void iterationCompleted(final boolean bestMoveChanged, final long bestMoveNodes, final long iterationNodes) {
+		if (!this.adaptive) {
+			return;
+		}
+		this.bestMoveChanges = this.bestMoveChanges * CHANGE_DECAY + (bestMoveChanged ? 1 : 0);
+		final double bestMoveEffort = iterationNodes == 0 ? NEUTRAL_BEST_MOVE_EFFORT : (double) bestMoveNodes / iterationNodes;
+		final double instability = 1.0 + this.bestMoveChanges;
+		final double effort = 1.0 + EFFORT_WEIGHT * (NEUTRAL_BEST_MOVE_EFFORT - bestMoveEffort);
+		this.softLimitMillis = Math.min(this.maximumMillis, (long) (this.optimumMillis * instability * effort));
+	}
+
+	//Whether the search should finish rather than start another iteration
+	public boolean shouldStop(final long elapsedMillis) {
+		return elapsedMillis >= this.softLimitMillis;
+	}
+
+	public long getOptimumMillis() {
+		return this.optimumMillis;
+	}
+
+	//The time at which the search is aborted whatever it is doing
+	public long getMaximumMillis() {
+		return this.maximumMillis;
+	}
+
+	public long getSoftLimitMillis() {
+		return this.softLimitMillis;
+	}
+}
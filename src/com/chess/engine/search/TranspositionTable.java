@@ -0,0 +1,139 @@
+package com.chess.engine.search;
+
+import java.util.Arrays;
+
+import com.chess.engine.board.MoveEncoding;
+
+//A fixed-size hash table of search results keyed by Zobrist key. Every entry is two longs in one array: the packed
+//data and the key XORed with that data. Reads and writes take no locks, so a slot can be torn by two threads writing
+//it at once; such a slot no longer XORs back to its key and is treated as a miss, which is always safe for a search.
+//Each bucket holds a depth-preferred entry, kept until a deeper search or a newer search replaces it, and an entry
+//that is always replaced, so shallow results near the leaves still have somewhere to go
+public final class TranspositionTable {
+
+	public static final int DEFAULT_SIZE_MB = 16;
+
+	public static final int EXACT = 1;
+	public static final int LOWER_BOUND = 2;
+	public static final int UPPER_BOUND = 3;
+
+	public static final int NO_MOVE = MoveEncoding.NO_MOVE;
+
+	//Each entry is two longs and each bucket two entries
+	private static final int BYTES_PER_BUCKET = 32;
+	private static final int LONGS_PER_BUCKET = 4;
+
+	//Data layout: move 16 bits (MoveEncoding.shortMove) | score 32 bits | depth 8 bits | bound 2 bits | age 6 bits
+	private static final int SCORE_SHIFT = 16;
+	private static final int DEPTH_SHIFT = 48;
+	private static final int BOUND_SHIFT = 56;
+	private static final int AGE_SHIFT = 58;
+	private static final int AGE_MASK = 0x3F;
+
+	private final long[] slots;
+	private final int bucketMask;
+	private volatile int age;
+
+	public TranspositionTable() {
+		this(DEFAULT_SIZE_MB);
+	}
+
+	//The number of buckets is the largest power of two that fits in sizeMB
+	public TranspositionTable(final int sizeMB) {
+		if (sizeMB <= 0) {
+			throw new IllegalArgumentException("Transposition table size must be positive, got " + sizeMB + " MB");
+		}
+		final long buckets = Long.highestOneBit((long) sizeMB * 1024 * 1024 / BYTES_PER_BUCKET);
+		if (buckets * LONGS_PER_BUCKET > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("Transposition table size is too large: " + sizeMB + " MB");
+		}
+		this.slots = new long[(int) (buckets * LONGS_PER_BUCKET)];
+		this.bucketMask = (int) buckets - 1;
+	}
+
+	//Called at the start of every search so entries from earlier searches become the first to be replaced
+	public void newSearch() {
+		this.age = (this.age + 1) & AGE_MASK;
+	}
+
+	public void clear() {
+		Arrays.fill(this.slots, 0L);
+		this.age = 0;
+	}
+
+	public long getSizeInBytes() {
+		return (long) this.slots.length * 8;
+	}
+
+	//Returns the packed data stored for key, or 0 if there is none. Use the static accessors to unpack it
+	public long probe(final long key) {
+		final int index = bucketIndex(key);
+		for (int i = index; i < index + LONGS_PER_BUCKET; i += 2) {
+			final long data = this.slots[i + 1];
+			if (data != 0 && (this.slots[i] ^ data) == key) {
+				return data;
+			}
+		}
+		return 0L;
+	}
+
+	//Only the low 16 bits of move are kept
+	public void store(final long key, final int move, final int score, final int depth, final int bound) {
+		final int index = bucketIndex(key);
+		final int currentAge = this.age;
+		final long data = (move & 0xFFFFL)
+				| ((score & 0xFFFFFFFFL) << SCORE_SHIFT)
+				| ((long) (depth & 0xFF) << DEPTH_SHIFT)
+				| ((long) bound << BOUND_SHIFT)
+				| ((long) currentAge << AGE_SHIFT);
+
+		final long storedData = this.slots[index + 1];
+		final boolean sameKey = (this.slots[index] ^ storedData) == key;
+		if (storedData == 0 || sameKey || depth >= getDepth(storedData) || getAge(storedData) != currentAge) {
+			//Keep the old best move when a result for the same position has none
+			final long newData = sameKey && move == NO_MOVE ? (data & ~0xFFFFL) | (storedData & 0xFFFFL) : data;
+			this.slots[index] = key ^ newData;
+			this.slots[index + 1] = newData;
+		} else {
+			this.slots[index + 2] = key ^ data;
+			this.slots[index + 3] = data;
+		}
+	}
+
+	private int bucketIndex(final long key) {
+		return ((int) (key ^ (key >>> 32)) & this.bucketMask) * LONGS_PER_BUCKET;
+	}
+
+	//Roughly how full the table is, in parts per thousand, counting only entries from the current search
+	public int getHashFull() {
+		final int sampledBuckets = Math.min(1000, this.bucketMask + 1);
+		int used = 0;
+		for (int i = 0; i < sampledBuckets * LONGS_PER_BUCKET; i += 2) {
+			final long data = this.slots[i + 1];
+			if (data != 0 && getAge(data) == this.age) {
+				used++;
+			}
+		}
+		return used * 1000 / (sampledBuckets * 2);
+	}
+
+	public static int getMove(final long data) {
+		return (int) (data & 0xFFFF);
+	}
+
+	public static int getScore(final long data) {
+		return (int) (data >>> SCORE_SHIFT);
+	}
+
+	public static int getDepth(final long data) {
+		return (int) ((data >>> DEPTH_SHIFT) & 0xFF);
+	}
+
+	public static int getBound(final long data) {
+		return (int) ((data >>> BOUND_SHIFT) & 0x3);
+	}
+
+	private static int getAge(final long data) {
+		return (int) ((data >>> AGE_SHIFT) & AGE_MASK);
+	}
+}
@@ -3,7 +3,6 @@ package com.chess.gui;
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import java.util.ArrayList;
-import com.chess.engine.board.Board;
 import com.chess.engine.board.Move;
 import com.chess.gui.Table.MoveLog;
 import java.util.List;
@@ -29,7 +28,8 @@ public class MoveHistoryPanel extends JPanel {
 		this.setVisible(true);
 	}
 	
-	void redo(final Board board, final MoveLog moveLog) {
+	//Moves print themselves in SAN, check and mate marks included
+	void redo(final MoveLog moveLog) {
 		int currentRow = 0;
 		this.model.clear();
 		
@@ -44,31 +44,9 @@ public class MoveHistoryPanel extends JPanel {
 			}
 		}
 		
-		if (moveLog.getMoves().size() > 0) {
-			final Move lastMove = moveLog.getMoves().get(moveLog.size() - 1);
-			final String moveText = lastMove.toString();
-			
-			if (lastMove.getMovedPiece().getPieceAlliance().isWhite()) {
-				this.model.setValueAt(moveText + calculateCheckAndCheckMateHash(board), currentRow, 0);
-			}
-			else {
-				this.model.setValueAt(moveText + calculateCheckAndCheckMateHash(board), currentRow - 1, 1);
-			}
-		}
-		
 		final JScrollBar vertical = scrollPane.getVerticalScrollBar();
 		vertical.setValue(vertical.getMaximum());
 	}
-	
-	private String calculateCheckAndCheckMateHash(final Board board) {
-		if (board.currentPlayer().isInCheckMate()) {
-			return "#";
-		}
-		else if (board.currentPlayer().isInCheck()) {
-			return "+";
-		}
-		return "";
-	}
 
 	private static class DataModel extends DefaultTableModel {
 		
@@ -8,6 +8,10 @@ import com.chess.engine.board.Move;
 import com.chess.engine.board.Tile;
 import com.chess.engine.pieces.Piece;
 import com.chess.engine.player.MoveTransition;
+import com.chess.engine.search.AlphaBeta;
+import com.chess.engine.search.LazySMP;
+import com.chess.engine.search.StandardBoardEvaluator;
+import com.chess.engine.search.TranspositionTable;
 import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.ActionListener;
@@ -20,6 +24,7 @@ import java.util.List;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.ExecutionException;
 
 public class Table {
 	
@@ -28,6 +33,7 @@ public class Table {
 	private final CapturedPiecesPanel capturedPiecesPanel;
 	private final BoardPanel boardPanel;
 	private final MoveLog moveLog;
+	private final TranspositionTable transpositionTable;
 	private Board chessBoard;
 	
 	private Tile sourceTile;
@@ -36,11 +42,15 @@ public class Table {
 	private BoardDirection boardDirection;
 	
 	private boolean highlightLegalMoves;
+	private boolean computerPlaysBlack;
 	
 	private final static Dimension OUTER_FRAME_DIMENSION = new Dimension(800,800);
 	private final static Dimension BOARD_PANEL_DIMENSION = new Dimension(400, 350);
 	private final static Dimension TILE_PANEL_DIMENSION = new Dimension(10, 10);
 	private static String imagesPath = "art/";
+	//Search limits for the computer opponent
+	private final static int COMPUTER_MAX_DEPTH = 64;
+	private final static long COMPUTER_TIME_LIMIT_MILLIS = 900;
 	
 	private final Color lightTileColor = Color.decode("#Fffeef");
     private final Color darkTileColor = Color.decode("#638e1a");
@@ -56,8 +66,10 @@ public class Table {
 		this.capturedPiecesPanel = new CapturedPiecesPanel();
 		this.boardPanel = new BoardPanel();
 		this.moveLog = new MoveLog();
+		this.transpositionTable = new TranspositionTable();
 		this.boardDirection = BoardDirection.NORMAL;
 		this.highlightLegalMoves = false;
+		this.computerPlaysBlack = false;
 		this.gameFrame.add(this.capturedPiecesPanel, BorderLayout.WEST);
 		this.gameFrame.add(this.boardPanel, BorderLayout.CENTER);
 		this.gameFrame.add(this.moveHistoryPanel, BorderLayout.EAST);
@@ -108,9 +120,57 @@ public class Table {
 			}
 		});
 		preferencesMenu.add(legalMoveHighlighterCheckbox);
+		final JCheckBoxMenuItem computerPlaysBlackCheckbox = new JCheckBoxMenuItem("Computer Plays Black", false);
+		
+		computerPlaysBlackCheckbox.addActionListener(new ActionListener() {
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				computerPlaysBlack = computerPlaysBlackCheckbox.isSelected();
+				requestComputerMove();
+			}
+		});
+		preferencesMenu.add(computerPlaysBlackCheckbox);
 		return preferencesMenu;
 	}
 	
+	//Searches for the computer's reply off the event thread so the board stays responsive while it thinks
+	private void requestComputerMove() {
+		if (!this.computerPlaysBlack || this.chessBoard.currentPlayer().getAlliance().isWhite()) {
+			return;
+		}
+		final Board searchBoard = this.chessBoard;
+		new SwingWorker<Move, Void>() {
+			@Override
+			protected Move doInBackground() {
+				return new LazySMP(new StandardBoardEvaluator(), Runtime.getRuntime().availableProcessors(), COMPUTER_MAX_DEPTH,
+						COMPUTER_TIME_LIMIT_MILLIS, AlphaBeta.NO_LIMIT, transpositionTable).execute(searchBoard);
+			}
+			
+			@Override
+			protected void done() {
+				final Move move;
+				try {
+					move = get();
+				} catch (final InterruptedException | ExecutionException e) {
+					e.printStackTrace();
+					return;
+				}
+				//Ignore the reply if the board changed while the computer was thinking
+				if (chessBoard != searchBoard || move == Move.NULL_MOVE) {
+					return;
+				}
+				final MoveTransition transition = chessBoard.currentPlayer().makeMove(move);
+				if (transition.getMoveStatus().isDone()) {
+					chessBoard = transition.getBoard();
+					moveLog.addMove(move);
+					moveHistoryPanel.redo(moveLog);
+					capturedPiecesPanel.redo(moveLog);
+					boardPanel.drawBoard(chessBoard);
+				}
+			}
+		}.execute();
+	}
+	
 	private class BoardPanel extends JPanel {
 
 		private static final long serialVersionUID = 1L;
@@ -216,9 +276,10 @@ public class Table {
 						SwingUtilities.invokeLater(new Runnable() {
 							@Override
 							public void run() {
-								moveHistoryPanel.redo(chessBoard, moveLog);
+								moveHistoryPanel.redo(moveLog);
 								capturedPiecesPanel.redo(moveLog);
 								boardPanel.drawBoard(chessBoard);
+								requestComputerMove();
 							};
 						});
 					}
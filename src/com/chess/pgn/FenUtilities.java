@@ -0,0 +1,256 @@
+package com.chess.pgn;
+
+import com.chess.engine.Alliance;
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtilities;
+import com.chess.engine.pieces.*;
+
+//Reads and writes positions in Forsyth-Edwards Notation. A FEN string is scanned in place, one character at a time,
+//and each piece is created once and set straight on a Board.Builder, so loading a position costs little more than
+//building the Board itself.
+//Board has no move counters, so when reading they are only checked, and they may be left out. They are written as
+//"0 1". Castling rights become the first move flags of the kings and rooks, and a pawn stands on its first move while
+//it is on its starting row
+public final class FenUtilities {
+
+	private static final String PIECE_LETTERS = "PNBRQK";
+
+	private FenUtilities() {
+		throw new RuntimeException("Cannot instantiate object of type FenUtilities");
+	}
+
+	public static Board createGameFromFEN(final String fen) {
+		final Board.Builder builder = new Board.Builder();
+		//Castling rights come after the placement, so rooks and kings are set once the rights are known
+		final int placementEnd = fieldEnd(fen, 0);
+		final int sideStart = placementEnd + 1;
+		final int castlingStart = fieldEnd(fen, sideStart) + 1;
+		final int enPassantStart = fieldEnd(fen, castlingStart) + 1;
+		if (enPassantStart > fen.length()) {
+			throw new IllegalArgumentException("Incomplete FEN " + fen);
+		}
+		final int castlingRights = parseCastlingRights(fen, castlingStart, enPassantStart - 1);
+
+		//Pawns are remembered by tile, so the en passant pawn can be found without building a board
+		final Pawn[] pawns = new Pawn[BoardUtilities.NUM_TILES];
+		int whiteKings = 0;
+		int blackKings = 0;
+		int coordinate = 0;
+		int rowStart = 0;
+		for (int i = 0; i < placementEnd; i++) {
+			final char c = fen.charAt(i);
+			if (c == '/') {
+				if (coordinate - rowStart != 8) {
+					throw new IllegalArgumentException("Row of the wrong length in FEN " + fen);
+				}
+				rowStart = coordinate;
+			} else if (c >= '1' && c <= '8') {
+				coordinate += c - '0';
+			} else {
+				if (coordinate >= BoardUtilities.NUM_TILES) {
+					throw new IllegalArgumentException("Too many tiles in FEN " + fen);
+				}
+				final Piece piece = createPiece(c, coordinate, castlingRights);
+				if (piece == null) {
+					throw new IllegalArgumentException("Unknown piece " + c + " in FEN " + fen);
+				}
+				if (piece.getPieceType() == Piece.PieceType.PAWN) {
+					//A pawn on the first or last row could never have got there, and it would move off the board
+					if (coordinate / 8 == 0 || coordinate / 8 == 7) {
+						throw new IllegalArgumentException("Pawn on the first or last row in FEN " + fen);
+					}
+					pawns[coordinate] = (Pawn) piece;
+				} else if (piece.isKing()) {
+					if (piece.getPieceAlliance().isWhite()) {
+						whiteKings++;
+					} else {
+						blackKings++;
+					}
+				}
+				builder.setPiece(piece);
+				coordinate++;
+			}
+		}
+		if (coordinate != BoardUtilities.NUM_TILES || coordinate - rowStart != 8) {
+			throw new IllegalArgumentException("Placement does not cover the board in FEN " + fen);
+		}
+		if (whiteKings != 1 || blackKings != 1) {
+			throw new IllegalArgumentException("Each side needs exactly one king in FEN " + fen);
+		}
+
+		final char side = fen.charAt(sideStart);
+		if ((side != 'w' && side != 'b') || castlingStart - sideStart != 2) {
+			throw new IllegalArgumentException("Unknown side to move in FEN " + fen);
+		}
+		final Alliance moveMaker = side == 'w' ? Alliance.WHITE : Alliance.BLACK;
+		builder.setMoveMaker(moveMaker);
+
+		final int enPassantEnd = fieldEnd(fen, enPassantStart);
+		if (fen.charAt(enPassantStart) != '-' || enPassantEnd - enPassantStart != 1) {
+			final Integer passedTile = enPassantEnd - enPassantStart == 2
+					? BoardUtilities.AN_TO_COORDINATE.get(fen.substring(enPassantStart, enPassantEnd)) : null;
+			if (passedTile == null) {
+				throw new IllegalArgumentException("Unknown en passant tile in FEN " + fen);
+			}
+			//The pawn that jumped stands one row past the tile it passed over, as seen from the side that moved it
+			final int pawnTile = moveMaker.isWhite() ? passedTile + 8 : passedTile - 8;
+			final Pawn pawn = BoardUtilities.isValidBoardCoordinate(pawnTile) ? pawns[pawnTile] : null;
+			if (pawn == null || pawn.getPieceAlliance() == moveMaker) {
+				throw new IllegalArgumentException("No pawn to capture en passant in FEN " + fen);
+			}
+			builder.setEnPassantPawn(pawn);
+		}
+
+		//The halfmove clock and fullmove number come together or not at all, and nothing may follow them
+		if (enPassantEnd < fen.length()) {
+			final int halfmoveEnd = parseCounter(fen, enPassantEnd + 1);
+			if (parseCounter(fen, halfmoveEnd + 1) != fen.length()) {
+				throw new IllegalArgumentException("Unexpected text after the move counters in FEN " + fen);
+			}
+		}
+		return builder.build();
+	}
+
+	public static String createFENFromGame(final Board board) {
+		final StringBuilder fen = new StringBuilder(90);
+		for (int row = 0; row < 8; row++) {
+			int emptyTiles = 0;
+			for (int column = 0; column < 8; column++) {
+				final Piece piece = board.getPiece(row * 8 + column);
+				if (piece == null) {
+					emptyTiles++;
+					continue;
+				}
+				if (emptyTiles > 0) {
+					fen.append((char) ('0' + emptyTiles));
+					emptyTiles = 0;
+				}
+				final char letter = PIECE_LETTERS.charAt(piece.getPieceType().ordinal());
+				fen.append(piece.getPieceAlliance().isWhite() ? letter : Character.toLowerCase(letter));
+			}
+			if (emptyTiles > 0) {
+				fen.append((char) ('0' + emptyTiles));
+			}
+			if (row < 7) {
+				fen.append('/');
+			}
+		}
+		fen.append(board.getNextMoveMaker().isWhite() ? " w " : " b ");
+
+		final int castlingRights = board.getCastlingRights();
+		if (castlingRights == 0) {
+			fen.append('-');
+		} else {
+			appendIf(fen, castlingRights, BoardUtilities.WHITE_KING_SIDE, 'K');
+			appendIf(fen, castlingRights, BoardUtilities.WHITE_QUEEN_SIDE, 'Q');
+			appendIf(fen, castlingRights, BoardUtilities.BLACK_KING_SIDE, 'k');
+			appendIf(fen, castlingRights, BoardUtilities.BLACK_QUEEN_SIDE, 'q');
+		}
+
+		final Pawn enPassantPawn = board.getEnPassantPawn();
+		if (enPassantPawn == null) {
+			fen.append(" -");
+		} else {
+			final int passedTile = enPassantPawn.getPiecePosition() + 8 * enPassantPawn.getPieceAlliance().getOppositeDirection();
+			fen.append(' ').append(BoardUtilities.getPositionAtCoordinate(passedTile));
+		}
+		return fen.append(" 0 1").toString();
+	}
+
+	//Kings and rooks keep their first move only where the castling rights allow it, and only on their starting tiles
+	private static Piece createPiece(final char letter, final int coordinate, final int castlingRights) {
+		switch (letter) {
+			case 'P':
+				return new Pawn(coordinate, Alliance.WHITE, coordinate / 8 == 6);
+			case 'p':
+				return new Pawn(coordinate, Alliance.BLACK, coordinate / 8 == 1);
+			case 'N':
+				return new Knight(coordinate, Alliance.WHITE);
+			case 'n':
+				return new Knight(coordinate, Alliance.BLACK);
+			case 'B':
+				return new Bishop(coordinate, Alliance.WHITE);
+			case 'b':
+				return new Bishop(coordinate, Alliance.BLACK);
+			case 'R':
+				return new Rook(coordinate, Alliance.WHITE,
+						(coordinate == 63 && (castlingRights & BoardUtilities.WHITE_KING_SIDE) != 0)
+						|| (coordinate == 56 && (castlingRights & BoardUtilities.WHITE_QUEEN_SIDE) != 0));
+			case 'r':
+				return new Rook(coordinate, Alliance.BLACK,
+						(coordinate == 7 && (castlingRights & BoardUtilities.BLACK_KING_SIDE) != 0)
+						|| (coordinate == 0 && (castlingRights & BoardUtilities.BLACK_QUEEN_SIDE) != 0));
+			case 'Q':
+				return new Queen(coordinate, Alliance.WHITE);
+			case 'q':
+				return new Queen(coordinate, Alliance.BLACK);
+			case 'K':
+				return new King(coordinate, Alliance.WHITE, coordinate == 60
+						&& (castlingRights & (BoardUtilities.WHITE_KING_SIDE | BoardUtilities.WHITE_QUEEN_SIDE)) != 0);
+			case 'k':
+				return new King(coordinate, Alliance.BLACK, coordinate == 4
+						&& (castlingRights & (BoardUtilities.BLACK_KING_SIDE | BoardUtilities.BLACK_QUEEN_SIDE)) != 0);
+			default:
+				return null;
+		}
+	}
+
+	//Only "-" stands for no rights; an empty field is an error
+	private static int parseCastlingRights(final String fen, final int start, final int end) {
+		if (end - start == 1 && fen.charAt(start) == '-') {
+			return 0;
+		}
+		if (end == start) {
+			throw new IllegalArgumentException("Missing castling rights in FEN " + fen);
+		}
+		int castlingRights = 0;
+		for (int i = start; i < end; i++) {
+			switch (fen.charAt(i)) {
+				case 'K':
+					castlingRights |= BoardUtilities.WHITE_KING_SIDE;
+					break;
+				case 'Q':
+					castlingRights |= BoardUtilities.WHITE_QUEEN_SIDE;
+					break;
+				case 'k':
+					castlingRights |= BoardUtilities.BLACK_KING_SIDE;
+					break;
+				case 'q':
+					castlingRights |= BoardUtilities.BLACK_QUEEN_SIDE;
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown castling rights in FEN " + fen);
+			}
+		}
+		return castlingRights;
+	}
+
+	//Checks that the field starting at start is a move counter and returns its end
+	private static int parseCounter(final String fen, final int start) {
+		final int end = fieldEnd(fen, start);
+		if (end == start) {
+			throw new IllegalArgumentException("Missing move counter in FEN " + fen);
+		}
+		for (int i = start; i < end; i++) {
+			if (!Character.isDigit(fen.charAt(i))) {
+				throw new IllegalArgumentException("Move counters must be numbers in FEN " + fen);
+			}
+		}
+		return end;
+	}
+
+	//The index of the space after the field starting at start, or the length of the string for the last field
+	private static int fieldEnd(final String fen, final int start) {
+		if (start >= fen.length()) {
+			throw new IllegalArgumentException("Incomplete FEN " + fen);
+		}
+		final int end = fen.indexOf(' ', start);
+		return end < 0 ? fen.length() : end;
+	}
+
+	private static void appendIf(final StringBuilder fen, final int castlingRights, final int right, final char letter) {
+		if ((castlingRights & right) != 0) {
+			fen.append(letter);
+		}
+	}
+}
@@ -0,0 +1,74 @@
+package com.chess.pgn;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.Move;
+
+//One game read from a PGN file: its tag pairs, its moves replayed from the starting position, and its result. A game
+//whose movetext could not be replayed keeps the moves up to the first one that failed, together with the reason
+public final class PgnGame {
+
+	private final Map<String, String> tags;
+	private final Board startBoard;
+	private final List<Move> moves;
+	private final Board finalBoard;
+	private final String result;
+	private final String error;
+
+	PgnGame(final Map<String, String> tags, final Board startBoard, final List<Move> moves, final Board finalBoard,
+			final String result, final String error) {
+		this.tags = Collections.unmodifiableMap(tags);
+		this.startBoard = startBoard;
+		this.moves = Collections.unmodifiableList(moves);
+		this.finalBoard = finalBoard;
+		this.result = result;
+		this.error = error;
+	}
+
+	public Map<String, String> getTags() {
+		return this.tags;
+	}
+
+	//The value of a tag pair, or null if the game does not have it
+	public String getTag(final String name) {
+		return this.tags.get(name);
+	}
+
+	//The initial position, or the one given by the game's FEN tag. Null if that tag could not be read
+	public Board getStartBoard() {
+		return this.startBoard;
+	}
+
+	//Each move was generated by the board it is played on, so move.getBoard() is the position before it
+	public List<Move> getMoves() {
+		return this.moves;
+	}
+
+	//The position after the last move that could be replayed
+	public Board getFinalBoard() {
+		return this.finalBoard;
+	}
+
+	//The result at the end of the movetext (1-0, 0-1, 1/2-1/2 or *), or the Result tag if the movetext has none
+	public String getResult() {
+		return this.result;
+	}
+
+	public boolean isValid() {
+		return this.error == null;
+	}
+
+	//Why the game could not be replayed in full, or null if it was
+	public String getError() {
+		return this.error;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s - %s %s (%d moves)%s", this.tags.get("White"), this.tags.get("Black"), this.result,
+				this.moves.size(), this.error == null ? "" : " " + this.error);
+	}
+}
@@ -0,0 +1,8 @@
+package com.chess.pgn;
+
+//Receives the games of a PgnImporter as they are replayed. With more than one worker thread it is called from all of
+//them at once and in no particular game order, so implementations must be thread-safe
+public interface PgnGameListener {
+
+	void gameRead(PgnGame game);
+}
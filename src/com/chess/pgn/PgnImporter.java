@@ -0,0 +1,138 @@
+package com.chess.pgn;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+//Replays every game of a PGN file on a pool of worker threads. One thread reads the file with a PgnReader and hands
+//out the text of each game; the workers replay the games with PgnParser and pass them to a PgnGameListener. The queue
+//of games waiting for a worker is bounded, and the reader runs a game itself when the queue is full, so only a few
+//games per worker are ever held in memory whatever the size of the file.
+//Usage: PgnImporter [-threads N] file.pgn
+//Reports the number of games, how many could not be replayed, and the throughput
+public final class PgnImporter {
+
+	//Games that may wait for a worker, per worker
+	private static final int QUEUED_GAMES_PER_THREAD = 16;
+
+	private final int threadCount;
+	private final AtomicLong games;
+	private final AtomicLong failedGames;
+	private final AtomicLong plies;
+	private long bytes;
+	private long elapsedMillis;
+
+	public PgnImporter(final int threadCount) {
+		if (threadCount < 1) {
+			throw new IllegalArgumentException("Thread count must be at least 1, got " + threadCount);
+		}
+		this.threadCount = threadCount;
+		this.games = new AtomicLong();
+		this.failedGames = new AtomicLong();
+		this.plies = new AtomicLong();
+	}
+
+	//Replays every game of the file and passes it to the listener, which may be null to only count the games.
+	//Returns once every game has been passed on
+	public void importGames(final Path path, final PgnGameListener listener) throws IOException {
+		this.games.set(0);
+		this.failedGames.set(0);
+		this.plies.set(0);
+		final long startTime = System.nanoTime();
+		final ThreadPoolExecutor workers = new ThreadPoolExecutor(this.threadCount, this.threadCount, 0L, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<Runnable>(this.threadCount * QUEUED_GAMES_PER_THREAD),
+				new ThreadPoolExecutor.CallerRunsPolicy());
+		try (PgnReader reader = new PgnReader(path)) {
+			String text;
+			while ((text = reader.readGame()) != null) {
+				final String gameText = text;
+				workers.execute(new Runnable() {
+					@Override
+					public void run() {
+						replay(gameText, listener);
+					}
+				});
+			}
+			this.bytes = reader.getFileSize();
+		} finally {
+			workers.shutdown();
+			try {
+				workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+			} catch (final InterruptedException e) {
+				workers.shutdownNow();
+				Thread.currentThread().interrupt();
+			}
+			this.elapsedMillis = (System.nanoTime() - startTime) / 1000000;
+		}
+	}
+
+	private void replay(final String text, final PgnGameListener listener) {
+		final PgnGame game = PgnParser.parseGame(text);
+		this.games.incrementAndGet();
+		this.plies.addAndGet(game.getMoves().size());
+		if (!game.isValid()) {
+			this.failedGames.incrementAndGet();
+		}
+		if (listener != null) {
+			listener.gameRead(game);
+		}
+	}
+
+	public int getThreadCount() {
+		return this.threadCount;
+	}
+
+	//The counts and timings of the last import
+	public long getGames() {
+		return this.games.get();
+	}
+
+	public long getFailedGames() {
+		return this.failedGames.get();
+	}
+
+	public long getPlies() {
+		return this.plies.get();
+	}
+
+	public long getElapsedMillis() {
+		return this.elapsedMillis;
+	}
+
+	public long getGamesPerSecond() {
+		return getGames() * 1000 / Math.max(1, this.elapsedMillis);
+	}
+
+	public static void main(final String[] args) throws IOException {
+		int threads = 1;
+		String file = null;
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("-threads")) {
+				threads = Integer.parseInt(args[++i]);
+			} else {
+				file = args[i];
+			}
+		}
+		if (file == null) {
+			System.err.println("Usage: PgnImporter [-threads N] file.pgn");
+			return;
+		}
+		final PgnImporter importer = new PgnImporter(threads);
+		importer.importGames(Paths.get(file), new PgnGameListener() {
+			@Override
+			public void gameRead(final PgnGame game) {
+				if (!game.isValid()) {
+					System.err.println(game);
+				}
+			}
+		});
+		System.out.println(String.format("games %,d  failed %,d  plies %,d  time %,d ms  %,d games/s  %.1f MB/s  (%d threads)",
+				importer.getGames(), importer.getFailedGames(), importer.getPlies(), importer.getElapsedMillis(),
+				importer.getGamesPerSecond(), importer.bytes / 1048576.0 * 1000 / Math.max(1, importer.getElapsedMillis()),
+				threads));
+	}
+}
@@ -0,0 +1,275 @@
+package com.chess.pgn;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.LegalityMasks;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.Move.PawnEnPassantMove;
+import com.chess.engine.board.Move.PawnPromotionMove;
+import com.chess.engine.pieces.Piece;
+import com.chess.engine.pieces.Piece.PieceType;
+
+//Turns the text of one PGN game into a PgnGame by reading its tag pairs and replaying its movetext. Comments,
+//variations, numeric annotation glyphs, move numbers and annotation marks such as "!?" are skipped, so only the moves
+//of the main line are played. Each move in standard algebraic notation is matched against the legal moves of the
+//position it is played in.
+//Every position is only looked at for the one move played in it, so a move is found by generating the moves of the
+//pieces that fit its notation rather than building the board's MoveIndex
+public final class PgnParser {
+
+	private static final String PIECE_LETTERS = "PNBRQK";
+
+	private PgnParser() {
+		throw new RuntimeException("Cannot instantiate object of type PgnParser");
+	}
+
+	//Never throws on bad input; a game that cannot be replayed comes back with an error
+	public static PgnGame parseGame(final String text) {
+		final Map<String, String> tags = new LinkedHashMap<>();
+		final List<Move> moves = new ArrayList<>();
+		Board startBoard = null;
+		Board board = null;
+		String result = null;
+		String error = null;
+
+		int i = 0;
+		final int length = text.length();
+		while (i < length && error == null) {
+			final char c = text.charAt(i);
+			if (Character.isWhitespace(c)) {
+				i++;
+			} else if (c == '[') {
+				final int end = text.indexOf(']', i);
+				if (end < 0) {
+					error = "Unterminated tag pair";
+					break;
+				}
+				readTag(text, i + 1, end, tags);
+				i = end + 1;
+			} else if (c == '{') {
+				final int end = text.indexOf('}', i);
+				i = end < 0 ? length : end + 1;
+			} else if (c == ';' || (c == '%' && (i == 0 || text.charAt(i - 1) == '\n'))) {
+				final int end = text.indexOf('\n', i);
+				i = end < 0 ? length : end + 1;
+			} else if (c == '(') {
+				i = skipVariation(text, i);
+			} else if (c == '$') {
+				i++;
+				while (i < length && Character.isDigit(text.charAt(i))) {
+					i++;
+				}
+			} else {
+				int end = i;
+				while (end < length && !isTokenEnd(text.charAt(end))) {
+					end++;
+				}
+				final String token = text.substring(i, end);
+				i = end;
+				if (isResult(token)) {
+					result = token;
+					break;
+				}
+				final String san = stripMoveNumber(token);
+				if (san.isEmpty()) {
+					continue;
+				}
+				if (board == null) {
+					try {
+						startBoard = createStartBoard(tags);
+					} catch (final IllegalArgumentException e) {
+						error = e.getMessage();
+						break;
+					}
+					board = startBoard;
+				}
+				final Move move = findMove(board, san);
+				if (move == Move.NULL_MOVE) {
+					error = "Illegal or ambiguous move " + san + " after " + moves.size() + " plies";
+					break;
+				}
+				moves.add(move);
+				board = move.execute();
+			}
+		}
+		if (board == null && error == null) {
+			try {
+				startBoard = createStartBoard(tags);
+				board = startBoard;
+			} catch (final IllegalArgumentException e) {
+				error = e.getMessage();
+			}
+		}
+		if (result == null) {
+			result = tags.get("Result");
+		}
+		return new PgnGame(tags, startBoard, moves, board, result, error);
+	}
+
+	//Finds the legal move a move in standard algebraic notation stands for, such as e4, Nbd7, exd6, O-O or e8=Q+.
+	//Returns Move.NULL_MOVE if no legal move matches or, for moves that lack the disambiguation they need, more
+	//than one does
+	public static Move findMove(final Board board, final String notation) {
+		int end = notation.length();
+		while (end > 0 && "+#!?".indexOf(notation.charAt(end - 1)) >= 0) {
+			end--;
+		}
+		final String san = notation.substring(0, end);
+		if (san.equals("O-O") || san.equals("0-0") || san.equals("O-O-O") || san.equals("0-0-0")) {
+			final boolean kingSide = san.length() == 3;
+			for (final Move move : board.currentPlayer().getLegalMoves()) {
+				if (move.isCastlingMove() && (move.getDestinationCoordinates() % 8 == 6) == kingSide) {
+					return move;
+				}
+			}
+			return Move.NULL_MOVE;
+		}
+
+		//Promotions are written e8=Q, or sometimes e8Q
+		PieceType promotionType = null;
+		if (end >= 2 && PIECE_LETTERS.indexOf(san.charAt(end - 1)) > 0 && !Character.isUpperCase(san.charAt(0))) {
+			promotionType = PieceType.values()[PIECE_LETTERS.indexOf(san.charAt(end - 1))];
+			end -= san.charAt(end - 2) == '=' ? 2 : 1;
+		}
+		if (end < 2) {
+			return Move.NULL_MOVE;
+		}
+		final int destination = tileOf(san.charAt(end - 2), san.charAt(end - 1));
+		if (destination < 0) {
+			return Move.NULL_MOVE;
+		}
+		final int pieceIndex = PIECE_LETTERS.indexOf(san.charAt(0));
+		final PieceType pieceType = pieceIndex > 0 ? PieceType.values()[pieceIndex] : PieceType.PAWN;
+		//What is left between the piece letter and the destination narrows down the tile the piece moves from
+		int fromFile = -1;
+		int fromRank = -1;
+		for (int i = pieceIndex > 0 ? 1 : 0; i < end - 2; i++) {
+			final char c = san.charAt(i);
+			if (c >= 'a' && c <= 'h') {
+				fromFile = c - 'a';
+			} else if (c >= '1' && c <= '8') {
+				fromRank = c - '1';
+			} else if (c != 'x' && c != '-') {
+				return Move.NULL_MOVE;
+			}
+		}
+
+		//A pawn that does not capture stays on its file
+		if (pieceType == PieceType.PAWN && fromFile < 0) {
+			fromFile = destination % 8;
+		}
+
+		//Only the pieces the notation can stand for generate their moves, and those reaching the destination are tested
+		//against the pins and checks of the position, so the rest of the legal moves are never generated
+		LegalityMasks legalityMasks = null;
+		Move found = Move.NULL_MOVE;
+		for (final Piece piece : board.currentPlayer().getActivePieces()) {
+			final int from = piece.getPiecePosition();
+			if (piece.getPieceType() != pieceType || (fromFile >= 0 && from % 8 != fromFile)
+					|| (fromRank >= 0 && 7 - from / 8 != fromRank)) {
+				continue;
+			}
+			for (final Move move : piece.calculateLegalMoves(board)) {
+				if (move.getDestinationCoordinates() != destination || promotionTypeOf(move) != promotionType) {
+					continue;
+				}
+				if (legalityMasks == null) {
+					legalityMasks = new LegalityMasks(board.getBitBoard(), board.getNextMoveMaker());
+				}
+				if (legalityMasks.isLegal(from, destination, piece.isKing(), move instanceof PawnEnPassantMove)) {
+					if (found != Move.NULL_MOVE) {
+						return Move.NULL_MOVE;
+					}
+					found = move;
+				}
+			}
+		}
+		return found;
+	}
+
+	private static Board createStartBoard(final Map<String, String> tags) {
+		final String fen = tags.get("FEN");
+		return fen == null ? Board.createInitialBoard() : FenUtilities.createGameFromFEN(fen);
+	}
+
+	//Reads name "value" between the brackets of a tag pair. Quotes and backslashes in the value are escaped
+	private static void readTag(final String text, final int start, final int end, final Map<String, String> tags) {
+		final int quote = text.indexOf('"', start);
+		if (quote < 0 || quote > end) {
+			return;
+		}
+		final String name = text.substring(start, quote).trim();
+		final StringBuilder value = new StringBuilder();
+		for (int i = quote + 1; i < end; i++) {
+			final char c = text.charAt(i);
+			if (c == '\\' && i + 1 < end) {
+				value.append(text.charAt(++i));
+			} else if (c == '"') {
+				break;
+			} else {
+				value.append(c);
+			}
+		}
+		tags.put(name, value.toString());
+	}
+
+	//Returns the index after the parenthesis closing the variation that opens at start, skipping nested variations
+	//and comments, which may themselves contain parentheses
+	private static int skipVariation(final String text, final int start) {
+		int depth = 0;
+		int i = start;
+		while (i < text.length()) {
+			final char c = text.charAt(i++);
+			if (c == '(') {
+				depth++;
+			} else if (c == ')') {
+				if (--depth == 0) {
+					return i;
+				}
+			} else if (c == '{') {
+				final int end = text.indexOf('}', i);
+				i = end < 0 ? text.length() : end + 1;
+			}
+		}
+		return i;
+	}
+
+	//Move numbers may be written apart from the move ("12. e4", "12... e5") or joined to it ("12.e4")
+	private static String stripMoveNumber(final String token) {
+		int i = 0;
+		while (i < token.length() && Character.isDigit(token.charAt(i))) {
+			i++;
+		}
+		if (i == token.length() || token.charAt(i) != '.') {
+			return i == 0 || token.startsWith("0-0") ? token : "";
+		}
+		while (i < token.length() && token.charAt(i) == '.') {
+			i++;
+		}
+		return token.substring(i);
+	}
+
+	private static boolean isResult(final String token) {
+		return token.equals("1-0") || token.equals("0-1") || token.equals("1/2-1/2") || token.equals("*");
+	}
+
+	private static boolean isTokenEnd(final char c) {
+		return Character.isWhitespace(c) || c == '{' || c == '(' || c == ')' || c == ';' || c == '[' || c == '$';
+	}
+
+	private static PieceType promotionTypeOf(final Move move) {
+		return move instanceof PawnPromotionMove ? ((PawnPromotionMove) move).getPromotionPiece().getPieceType() : null;
+	}
+
+	//The tile of a file letter and rank digit, or -1
+	private static int tileOf(final char file, final char rank) {
+		if (file < 'a' || file > 'h' || rank < '1' || rank > '8') {
+			return -1;
+		}
+		return ('8' - rank) * 8 + (file - 'a');
+	}
+}
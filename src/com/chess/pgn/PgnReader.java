@@ -0,0 +1,111 @@
+package com.chess.pgn;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+//Splits a PGN file into the text of its games, one game at a time. The file is memory-mapped a window at a time and
+//only the game being read is copied out of it, so memory use does not grow with the size of the file, and files larger
+//than a single mapping can hold are read window by window. A game ends where a tag pair line follows its movetext.
+//PGN files are ISO 8859-1 text, so every byte is read as one character
+public final class PgnReader implements Closeable {
+
+	private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+	private static final int INITIAL_GAME_CAPACITY = 4096;
+
+	private final FileChannel channel;
+	private final long fileSize;
+	private MappedByteBuffer window;
+	private long windowStart;
+	private byte[] game;
+	private int gameLength;
+
+	public PgnReader(final Path path) throws IOException {
+		this.channel = FileChannel.open(path, StandardOpenOption.READ);
+		this.fileSize = this.channel.size();
+		this.windowStart = 0;
+		this.game = new byte[INITIAL_GAME_CAPACITY];
+	}
+
+	//Returns the text of the next game, or null at the end of the file
+	public String readGame() throws IOException {
+		this.gameLength = 0;
+		boolean inMovetext = false;
+		boolean atLineStart = true;
+		while (true) {
+			if (this.window == null || !this.window.hasRemaining()) {
+				if (!mapNextWindow()) {
+					break;
+				}
+			}
+			final byte b = this.window.get(this.window.position());
+			if (atLineStart && b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+				if (b == '[') {
+					//The first tag pair after the movetext belongs to the next game, so it is left unread
+					if (inMovetext) {
+						return gameText();
+					}
+				} else {
+					inMovetext = true;
+				}
+				atLineStart = false;
+			}
+			this.window.position(this.window.position() + 1);
+			if (b == '\n') {
+				atLineStart = true;
+			}
+			append(b);
+		}
+		return isBlank() ? null : gameText();
+	}
+
+	//How far into the file reading has got
+	public long getBytesRead() {
+		return this.window == null ? 0 : this.windowStart - this.window.remaining();
+	}
+
+	public long getFileSize() {
+		return this.fileSize;
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.window = null;
+		this.channel.close();
+	}
+
+	private boolean mapNextWindow() throws IOException {
+		if (this.windowStart >= this.fileSize) {
+			return false;
+		}
+		final long size = Math.min(WINDOW_SIZE, this.fileSize - this.windowStart);
+		this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, this.windowStart, size);
+		this.windowStart += size;
+		return true;
+	}
+
+	private void append(final byte b) {
+		if (this.gameLength == this.game.length) {
+			this.game = Arrays.copyOf(this.game, this.game.length * 2);
+		}
+		this.game[this.gameLength++] = b;
+	}
+
+	private String gameText() {
+		return new String(this.game, 0, this.gameLength, StandardCharsets.ISO_8859_1);
+	}
+
+	private boolean isBlank() {
+		for (int i = 0; i < this.gameLength; i++) {
+			if ((this.game[i] & 0xFF) > ' ') {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,391 @@
+package com.chess.uci;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.List;
+
+import com.chess.engine.board.Board;
+import com.chess.engine.board.BoardUtilities;
+import com.chess.engine.board.Move;
+import com.chess.engine.board.Move.PawnPromotionMove;
+import com.chess.engine.pieces.Piece.PieceType;
+import com.chess.engine.search.AlphaBeta;
+import com.chess.engine.search.LazySMP;
+import com.chess.engine.search.SearchListener;
+import com.chess.engine.search.SearchResult;
+import com.chess.engine.search.StandardBoardEvaluator;
+import com.chess.engine.search.TimeManager;
+import com.chess.engine.search.TranspositionTable;
+import com.chess.pgn.FenUtilities;
+
+//Runs the engine under the Universal Chess Interface, so it can be driven by tournament managers and GUIs without
+//the Swing Table. Commands are read from the input one line at a time; a search started by "go" runs on its own
+//thread, so "stop", "isready" and "quit" are answered while it is thinking. Each completed iteration is reported as
+//an info line, and the move is sent as "bestmove" when the search ends.
+//Supported: uci, isready, ucinewgame, setoption (Hash, Threads), position (startpos or fen, then moves), go (depth,
+//movetime, wtime, btime, winc, binc, movestogo, nodes, infinite), stop and quit
+public final class UciEngine {
+
+	private static final String ENGINE_NAME = "JavaChessProject";
+	private static final String ENGINE_AUTHOR = "bennybebo";
+
+	private static final int MIN_HASH_MB = 1;
+	private static final int MAX_HASH_MB = 1024;
+	private static final int MAX_THREADS = 64;
+
+	private final BufferedReader input;
+	private final PrintStream output;
+	private final StandardBoardEvaluator evaluator;
+	private TranspositionTable transpositionTable;
+	private int threadCount;
+	private Board board;
+
+	private LazySMP search;
+	private Thread searchThread;
+	//Guarded by this: an infinite search keeps its move until "stop" arrives, even if it runs out of depth first
+	private boolean infinite;
+
+	public UciEngine(final InputStream input, final PrintStream output) {
+		this.input = new BufferedReader(new InputStreamReader(input));
+		this.output = output;
+		this.evaluator = new StandardBoardEvaluator();
+		this.transpositionTable = new TranspositionTable();
+		this.threadCount = 1;
+		this.board = Board.createInitialBoard();
+	}
+
+	//Reads and answers commands until "quit" or the end of the input
+	public void run() {
+		try {
+			String line;
+			while ((line = this.input.readLine()) != null) {
+				final String[] tokens = line.trim().split("\\s+");
+				if (tokens[0].equals("quit")) {
+					break;
+				}
+				//A bad command is reported and the session carries on
+				try {
+					handleCommand(tokens);
+				} catch (final IllegalArgumentException e) {
+					send("info string " + e.getMessage());
+				} catch (final RuntimeException e) {
+					send("info string Could not handle \"" + line.trim() + "\": " + e);
+				}
+			}
+		} catch (final IOException e) {
+			send("info string " + e.getMessage());
+		}
+		stopSearch();
+	}
+
+	private void handleCommand(final String[] tokens) {
+		switch (tokens[0]) {
+			case "uci":
+				send("id name " + ENGINE_NAME);
+				send("id author " + ENGINE_AUTHOR);
+				send("option name Hash type spin default " + TranspositionTable.DEFAULT_SIZE_MB + " min " + MIN_HASH_MB
+						+ " max " + MAX_HASH_MB);
+				send("option name Threads type spin default 1 min 1 max " + MAX_THREADS);
+				send("uciok");
+				break;
+			case "isready":
+				send("readyok");
+				break;
+			case "ucinewgame":
+				stopSearch();
+				this.transpositionTable.clear();
+				this.evaluator.getPawnHashTable().clear();
+				break;
+			case "setoption":
+				stopSearch();
+				setOption(tokens);
+				break;
+			case "position":
+				stopSearch();
+				this.board = parsePosition(tokens);
+				break;
+			case "go":
+				stopSearch();
+				startSearch(tokens);
+				break;
+			case "stop":
+				stopSearch();
+				break;
+			default:
+				//Unknown commands are ignored, as the protocol asks
+				break;
+		}
+	}
+
+	//setoption name <name> value <value>
+	private void setOption(final String[] tokens) {
+		final String name = tokenAfter(tokens, "name");
+		final String value = tokenAfter(tokens, "value");
+		if (name == null || value == null) {
+			throw new IllegalArgumentException("Expected setoption name <name> value <value>");
+		}
+		if (name.equalsIgnoreCase("Hash")) {
+			final int sizeMB = clamp(Integer.parseInt(value), MIN_HASH_MB, MAX_HASH_MB);
+			this.transpositionTable = new TranspositionTable(sizeMB);
+		} else if (name.equalsIgnoreCase("Threads")) {
+			this.threadCount = clamp(Integer.parseInt(value), 1, MAX_THREADS);
+		} else {
+			throw new IllegalArgumentException("Unknown option " + name);
+		}
+	}
+
+	//position [startpos | fen <six fields>] [moves <move>...]
+	//The position is only replaced once the new one has been read in full and found playable
+	private static Board parsePosition(final String[] tokens) {
+		int index = 1;
+		Board position;
+		if (tokens.length > index && tokens[index].equals("startpos")) {
+			position = Board.createInitialBoard();
+			index++;
+		} else if (tokens.length > index && tokens[index].equals("fen")) {
+			index++;
+			final StringBuilder fen = new StringBuilder();
+			while (index < tokens.length && !tokens[index].equals("moves")) {
+				fen.append(tokens[index++]).append(' ');
+			}
+			position = FenUtilities.createGameFromFEN(fen.toString().trim());
+			//A side that could take the opposing king has no legal position to search
+			if (position.currentPlayer().getOpponent().isInCheck()) {
+				throw new IllegalArgumentException("The side not to move is in check in FEN " + fen.toString().trim());
+			}
+		} else {
+			throw new IllegalArgumentException("Expected position startpos or position fen");
+		}
+		if (index < tokens.length && tokens[index].equals("moves")) {
+			for (index++; index < tokens.length; index++) {
+				position = findMove(position, tokens[index]).execute();
+			}
+		}
+		return position;
+	}
+
+	//Finds the legal move written in long algebraic notation, e.g. e2e4, e1g1 or e7e8q
+	private static Move findMove(final Board board, final String notation) {
+		if (notation.length() < 4 || notation.length() > 5) {
+			throw new IllegalArgumentException("Illegal move " + notation);
+		}
+		final int from = parseTile(notation.substring(0, 2));
+		final int to = parseTile(notation.substring(2, 4));
+		PieceType promotionType = null;
+		if (notation.length() == 5) {
+			for (final PieceType pieceType : PieceType.values()) {
+				if (pieceType.toString().toLowerCase().charAt(0) == notation.charAt(4)) {
+					promotionType = pieceType;
+				}
+			}
+			if (promotionType == null) {
+				throw new IllegalArgumentException("Illegal move " + notation);
+			}
+		}
+		final Move move = board.getMoveIndex().getMove(from, to, promotionType);
+		if (move == Move.NULL_MOVE) {
+			throw new IllegalArgumentException("Illegal move " + notation);
+		}
+		return move;
+	}
+
+	private static int parseTile(final String tile) {
+		final Integer coordinate = BoardUtilities.AN_TO_COORDINATE.get(tile);
+		if (coordinate == null) {
+			throw new IllegalArgumentException("Unknown tile " + tile);
+		}
+		return coordinate;
+	}
+
+	private static char promotionLetter(final Move move) {
+		if (move instanceof PawnPromotionMove) {
+			return ((PawnPromotionMove) move).getPromotionPiece().getPieceType().toString().toLowerCase().charAt(0);
+		}
+		return ' ';
+	}
+
+	private static String toNotation(final Move move) {
+		final String notation = BoardUtilities.getPositionAtCoordinate(move.getCurrentCoordinate())
+				+ BoardUtilities.getPositionAtCoordinate(move.getDestinationCoordinates());
+		final char promotion = promotionLetter(move);
+		return promotion == ' ' ? notation : notation + promotion;
+	}
+
+	private void startSearch(final String[] tokens) {
+		int depth = AlphaBeta.MAX_PLY - 1;
+		long moveTime = AlphaBeta.NO_LIMIT;
+		long nodes = AlphaBeta.NO_LIMIT;
+		long whiteTime = -1;
+		long blackTime = -1;
+		long whiteIncrement = 0;
+		long blackIncrement = 0;
+		int movesToGo = 0;
+		boolean infinite = false;
+		//A parameter without a usable value is reported and left out, so the search still runs and sends its move
+		for (int i = 1; i < tokens.length; i++) {
+			try {
+				switch (tokens[i]) {
+					case "depth":
+						depth = clamp(Integer.parseInt(parameterValue(tokens, i++)), 1, AlphaBeta.MAX_PLY - 1);
+						break;
+					case "movetime":
+						moveTime = Long.parseLong(parameterValue(tokens, i++));
+						break;
+					case "nodes":
+						nodes = Long.parseLong(parameterValue(tokens, i++));
+						break;
+					case "wtime":
+						whiteTime = Long.parseLong(parameterValue(tokens, i++));
+						break;
+					case "btime":
+						blackTime = Long.parseLong(parameterValue(tokens, i++));
+						break;
+					case "winc":
+						whiteIncrement = Long.parseLong(parameterValue(tokens, i++));
+						break;
+					case "binc":
+						blackIncrement = Long.parseLong(parameterValue(tokens, i++));
+						break;
+					case "movestogo":
+						movesToGo = Integer.parseInt(parameterValue(tokens, i++));
+						break;
+					case "infinite":
+						infinite = true;
+						break;
+					default:
+						break;
+				}
+			} catch (final IllegalArgumentException e) {
+				send("info string " + e.getMessage());
+			}
+		}
+		final boolean white = this.board.currentPlayer().getAlliance().isWhite();
+		final long remaining = white ? whiteTime : blackTime;
+		TimeManager timeManager = null;
+		if (!infinite && moveTime != AlphaBeta.NO_LIMIT) {
+			timeManager = TimeManager.forMoveTime(moveTime);
+		} else if (!infinite && remaining >= 0) {
+			timeManager = TimeManager.forClock(remaining, white ? whiteIncrement : blackIncrement, movesToGo,
+					TimeManager.DEFAULT_MOVE_OVERHEAD_MILLIS);
+		}
+
+		final Board position = this.board;
+		final LazySMP search = new LazySMP(this.evaluator, this.threadCount, depth, AlphaBeta.NO_LIMIT, nodes,
+				this.transpositionTable);
+		search.setTimeManager(timeManager);
+		search.setSearchListener(new SearchListener() {
+			@Override
+			public void iterationCompleted(final SearchResult result) {
+				sendInfo(result);
+			}
+		});
+		synchronized (this) {
+			this.infinite = infinite;
+		}
+		this.search = search;
+		this.searchThread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				//Whatever happens to the search, the GUI is owed a move, "0000" when there is none
+				Move bestMove = null;
+				try {
+					bestMove = search.execute(position);
+				} catch (final RuntimeException | Error e) {
+					send("info string Search failed: " + e);
+				}
+				final boolean noMove = bestMove == null || bestMove == Move.NULL_MOVE;
+				if (noMove) {
+					send("info string The search returned no move");
+				}
+				waitWhileInfinite();
+				send("bestmove " + (noMove ? "0000" : toNotation(bestMove)));
+			}
+		}, "UCI-search");
+		this.searchThread.start();
+	}
+
+	//"go infinite" must not send its move before "stop", even if the search ends by itself
+	private synchronized void waitWhileInfinite() {
+		while (this.infinite) {
+			try {
+				wait();
+			} catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	//Ends the running search, if any, and waits for it to send its move
+	private void stopSearch() {
+		if (this.searchThread == null) {
+			return;
+		}
+		synchronized (this) {
+			this.infinite = false;
+			notifyAll();
+		}
+		this.search.stop();
+		try {
+			this.searchThread.join();
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		this.searchThread = null;
+		this.search = null;
+	}
+
+	private void sendInfo(final SearchResult result) {
+		final StringBuilder info = new StringBuilder("info depth ").append(result.getDepth());
+		final int score = result.getScore();
+		if (Math.abs(score) >= AlphaBeta.MATE_SCORE - AlphaBeta.MAX_PLY) {
+			//Mate scores count plies; UCI counts moves, negative when the engine is the side being mated
+			final int plies = AlphaBeta.MATE_SCORE - Math.abs(score);
+			info.append(" score mate ").append(score > 0 ? (plies + 1) / 2 : -(plies + 1) / 2);
+		} else {
+			info.append(" score cp ").append(score);
+		}
+		info.append(" nodes ").append(result.getNodes())
+			.append(" nps ").append(result.getNodesPerSecond())
+			.append(" time ").append(result.getElapsedMillis())
+			.append(" hashfull ").append(this.transpositionTable.getHashFull());
+		final List<Move> principalVariation = result.getPrincipalVariation();
+		if (!principalVariation.isEmpty()) {
+			info.append(" pv");
+			for (final Move move : principalVariation) {
+				info.append(' ').append(toNotation(move));
+			}
+		}
+		send(info.toString());
+	}
+
+	//Lines are sent from both the input thread and the search thread
+	private synchronized void send(final String line) {
+		this.output.println(line);
+		this.output.flush();
+	}
+
+	//The value following the go parameter at index
+	private static String parameterValue(final String[] tokens, final int index) {
+		if (index + 1 >= tokens.length) {
+			throw new IllegalArgumentException("Missing value for " + tokens[index]);
+		}
+		return tokens[index + 1];
+	}
+
+	private static String tokenAfter(final String[] tokens, final String keyword) {
+		for (int i = 0; i < tokens.length - 1; i++) {
+			if (tokens[i].equals(keyword)) {
+				return tokens[i + 1];
+			}
+		}
+		return null;
+	}
+
+	private static int clamp(final int value, final int min, final int max) {
+		return Math.max(min, Math.min(max, value));
+	}
+}